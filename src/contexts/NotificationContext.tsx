@@ -33,11 +33,9 @@ export const NotificationProvider = ({ children }: { children: ReactNode }) => {
     if (!isAuthenticated) return;
     
     try {
+      // The first page of the cursor-paginated listing; the unread count comes from the stream
       const response = await axios.get('/api/notifications');
-      // Ensure response.data is always treated as an array
-      const notificationsData = Array.isArray(response.data) ? response.data : [];
-      setNotifications(notificationsData);
-      setUnreadCount(notificationsData.filter((n: Notification) => !n.read).length);
+      setNotifications(Array.isArray(response.data?.items) ? response.data.items : []);
     } catch (error) {
       console.error('Error fetching notifications:', error);
     }
@@ -46,10 +44,9 @@ export const NotificationProvider = ({ children }: { children: ReactNode }) => {
   const markAsRead = async (id: number) => {
     try {
       await axios.post(`/api/notifications/${id}/read`);
-      setNotifications(notifications.map(n => 
+      setNotifications(prev => prev.map(n => 
         n.id === id ? { ...n, read: true } : n
       ));
-      setUnreadCount(prev => Math.max(0, prev - 1));
     } catch (error) {
       console.error('Error marking notification as read:', error);
     }
@@ -58,22 +55,75 @@ export const NotificationProvider = ({ children }: { children: ReactNode }) => {
   const markAllAsRead = async () => {
     try {
       await axios.post('/api/notifications/read-all');
-      setNotifications(notifications.map(n => ({ ...n, read: true })));
-      setUnreadCount(0);
+      setNotifications(prev => prev.map(n => ({ ...n, read: true })));
     } catch (error) {
       console.error('Error marking all notifications as read:', error);
     }
   };
 
+  // Live updates over server-sent events instead of polling. EventSource cannot send the bearer
+  // token, so each connection uses a short-lived stream ticket in the query string.
   useEffect(() => {
-    if (isAuthenticated) {
-      fetchNotifications();
-      
-      // Set up polling for new notifications (every 30 seconds)
-      const intervalId = setInterval(fetchNotifications, 30000);
-      
-      return () => clearInterval(intervalId);
-    }
+    if (!isAuthenticated) return;
+
+    let source: EventSource | null = null;
+    let retryId: ReturnType<typeof setTimeout> | undefined;
+    let lastEventId: string | null = null;
+    let stopped = false;
+
+    const reconnectLater = () => {
+      source?.close();
+      if (!stopped) {
+        retryId = setTimeout(connect, 5000);
+      }
+    };
+
+    const connect = async () => {
+      try {
+        const { data } = await axios.post('/api/notifications/stream-ticket');
+        if (stopped) return;
+
+        // A new EventSource does not send Last-Event-ID, so the resume position goes in the URL
+        const params = new URLSearchParams({ ticket: data.ticket });
+        if (lastEventId) params.set('lastEventId', lastEventId);
+        source = new EventSource(`/api/notifications/stream?${params}`);
+
+        source.addEventListener('notification', (event) => {
+          const message = event as MessageEvent;
+          lastEventId = message.lastEventId || lastEventId;
+          const notification: Notification = JSON.parse(message.data);
+          setNotifications(prev => [notification, ...prev.filter(n => n.id !== notification.id)]);
+        });
+        source.addEventListener('notification-update', (event) => {
+          const notification: Notification = JSON.parse((event as MessageEvent).data);
+          setNotifications(prev => [notification, ...prev.filter(n => n.id !== notification.id)]);
+        });
+        source.addEventListener('unread-count', (event) => {
+          const update = JSON.parse((event as MessageEvent).data);
+          setUnreadCount(prev => update.count != null ? update.count : Math.max(0, prev + update.delta));
+        });
+
+        // The browser retries a dropped stream by itself; once it gives up, e.g. because the
+        // ticket expired, connect again with a fresh ticket
+        source.onerror = () => {
+          if (source?.readyState === EventSource.CLOSED) {
+            reconnectLater();
+          }
+        };
+      } catch (error) {
+        console.error('Error opening the notification stream:', error);
+        reconnectLater();
+      }
+    };
+
+    fetchNotifications();
+    connect();
+
+    return () => {
+      stopped = true;
+      clearTimeout(retryId);
+      source?.close();
+    };
   }, [isAuthenticated]);
 
   return (
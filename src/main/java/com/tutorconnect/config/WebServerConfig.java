@@ -0,0 +1,32 @@
+package com.tutorconnect.config;
+
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Every open notification stream and chat socket holds a connection, so the connector's limit of
+// 8192 would cap the users a node can keep connected. Idle connections cost no request thread,
+// only a file descriptor each; the process limit (ulimit -n) has to be raised to match.
+@Configuration
+public class WebServerConfig {
+
+    @Value("${server.connections.max:50000}")
+    private int maxConnections;
+
+    // Connections the OS queues once maxConnections is reached
+    @Value("${server.connections.accept-count:1000}")
+    private int acceptCount;
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> connectionLimits() {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            if (connector.getProtocolHandler() instanceof AbstractHttp11Protocol<?> protocol) {
+                protocol.setMaxConnections(maxConnections);
+                protocol.setAcceptCount(acceptCount);
+            }
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.tutorconnect.controller.account;
+
+import com.tutorconnect.model.User;
+import com.tutorconnect.security.JwtTokenProvider;
+import com.tutorconnect.service.UserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/account")
+@RequiredArgsConstructor
+public class AccountController {
+
+    private final UserService userService;
+    private final JwtTokenProvider jwtTokenProvider;
+
+    @PostMapping("/password")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void changePassword(@Valid @RequestBody ChangePasswordRequest request, Authentication authentication) {
+        userService.changePassword(currentUser(authentication).getId(), request.getCurrentPassword(), request.getNewPassword());
+    }
+
+    // Revokes the token of this request. Like logout-all, this is immediate on the node that
+    // handles it; other nodes reject the token after their next revocation reload, so the
+    // revocation latency across nodes is up to jwt.revocation.refresh-ms (60 s by default).
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void logout(@RequestHeader("Authorization") String authorization) {
+        String token = JwtTokenProvider.resolveBearerToken(authorization);
+        if (token != null) {
+            jwtTokenProvider.revoke(token);
+        }
+    }
+
+    // Revokes every token issued to the user up to now, within the same latency as logout
+    @PostMapping("/logout-all")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void logoutAll(Authentication authentication) {
+        userService.revokeAllTokens(currentUser(authentication).getId());
+    }
+
+    private User currentUser(Authentication authentication) {
+        return userService.findUserByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
\ No newline at end of file
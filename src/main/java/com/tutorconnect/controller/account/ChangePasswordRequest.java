@@ -0,0 +1,17 @@
+package com.tutorconnect.controller.account;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+@Data
+public class ChangePasswordRequest {
+    
+    @NotBlank(message = "Current password is required")
+    private String currentPassword;
+    
+    @NotBlank(message = "New password is required")
+    @Pattern(regexp = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=])(?=\\S+$).{8,}$",
+             message = "Password must be at least 8 characters long and include at least one digit, one lowercase letter, one uppercase letter, and one special character")
+    private String newPassword;
+}
\ No newline at end of file
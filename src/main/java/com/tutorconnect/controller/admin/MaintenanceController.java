@@ -0,0 +1,50 @@
+package com.tutorconnect.controller.admin;
+
+import com.tutorconnect.dto.BookingSweepStats;
+import com.tutorconnect.dto.NotificationPurgeStats;
+import com.tutorconnect.dto.OutboxStats;
+import com.tutorconnect.service.BookingSweeper;
+import com.tutorconnect.service.notification.NotificationOutboxDispatcher;
+import com.tutorconnect.service.notification.NotificationPurger;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/maintenance")
+@RequiredArgsConstructor
+public class MaintenanceController {
+
+    private final BookingSweeper bookingSweeper;
+    private final NotificationOutboxDispatcher notificationOutboxDispatcher;
+    private final NotificationPurger notificationPurger;
+
+    @GetMapping("/booking-sweep")
+    public BookingSweepStats bookingSweepStats() {
+        return bookingSweeper.getStats();
+    }
+
+    @PostMapping("/booking-sweep")
+    public BookingSweepStats runBookingSweep() {
+        bookingSweeper.sweep();
+        return bookingSweeper.getStats();
+    }
+
+    @GetMapping("/notification-outbox")
+    public OutboxStats notificationOutboxStats() {
+        return notificationOutboxDispatcher.getStats();
+    }
+
+    @GetMapping("/notification-purge")
+    public NotificationPurgeStats notificationPurgeStats() {
+        return notificationPurger.getStats();
+    }
+
+    @PostMapping("/notification-purge")
+    public NotificationPurgeStats runNotificationPurge() {
+        notificationPurger.purge();
+        return notificationPurger.getStats();
+    }
+}
\ No newline at end of file
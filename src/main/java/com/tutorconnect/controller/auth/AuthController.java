@@ -3,6 +3,7 @@ package com.tutorconnect.controller.auth;
 import com.tutorconnect.model.User;
 import com.tutorconnect.security.JwtTokenProvider;
 import com.tutorconnect.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -66,7 +67,11 @@ public class AuthController {
     }
 
     @GetMapping("/logout")
-    public String logout() {
+    public String logout(HttpServletRequest request) {
+        String token = JwtTokenProvider.resolveBearerToken(request.getHeader("Authorization"));
+        if (token != null) {
+            tokenProvider.revoke(token);
+        }
         SecurityContextHolder.clearContext();
         return "redirect:/auth/login?logout";
     }
@@ -0,0 +1,33 @@
+package com.tutorconnect.controller.booking;
+
+import com.tutorconnect.dto.BulkTransitionResult;
+import com.tutorconnect.model.User;
+import com.tutorconnect.service.BookingService;
+import com.tutorconnect.service.UserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/bookings")
+@RequiredArgsConstructor
+public class BookingController {
+
+    private final BookingService bookingService;
+    private final UserService userService;
+
+    @PostMapping("/transitions")
+    public BulkTransitionResult transition(@Valid @RequestBody BookingTransitionRequest request,
+                                           Authentication authentication) {
+        return bookingService.transitionBookings(request.getBookingIds(), request.getStatus(), currentUser(authentication));
+    }
+
+    private User currentUser(Authentication authentication) {
+        return userService.findUserByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
\ No newline at end of file
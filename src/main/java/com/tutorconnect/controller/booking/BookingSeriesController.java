@@ -0,0 +1,93 @@
+package com.tutorconnect.controller.booking;
+
+import com.tutorconnect.dto.BookingSeriesView;
+import com.tutorconnect.dto.SeriesOccurrence;
+import com.tutorconnect.model.User;
+import com.tutorconnect.service.BookingSeriesService;
+import com.tutorconnect.service.UserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/booking-series")
+@RequiredArgsConstructor
+public class BookingSeriesController {
+
+    private final BookingSeriesService bookingSeriesService;
+    private final UserService userService;
+
+    @PostMapping
+    public BookingSeriesView create(@Valid @RequestBody BookingSeriesRequest request, Authentication authentication) {
+        User student = currentUser(authentication);
+        if (!student.isStudent()) {
+            throw new RuntimeException("Only students can book a series");
+        }
+        return BookingSeriesView.from(bookingSeriesService.createSeries(
+                student.getId(),
+                request.getTutorId(),
+                request.getSubjectId(),
+                request.getFirstStartTime(),
+                request.getDurationMinutes(),
+                request.getIntervalWeeks(),
+                request.getEndDate(),
+                request.getNotes()));
+    }
+
+    @PostMapping("/{id}/confirm")
+    public BookingSeriesView confirm(@PathVariable Long id, Authentication authentication) {
+        return BookingSeriesView.from(bookingSeriesService.confirmSeries(id, currentUser(authentication)));
+    }
+
+    @PostMapping("/{id}/reject")
+    public BookingSeriesView reject(@PathVariable Long id, Authentication authentication) {
+        return BookingSeriesView.from(bookingSeriesService.rejectSeries(id, currentUser(authentication)));
+    }
+
+    @PostMapping("/{id}/cancel")
+    public BookingSeriesView cancel(@PathVariable Long id, Authentication authentication) {
+        return BookingSeriesView.from(bookingSeriesService.cancelSeries(id, currentUser(authentication)));
+    }
+
+    @PostMapping("/{id}/occurrences/{date}/cancel")
+    public BookingSeriesView cancelOccurrence(@PathVariable Long id,
+                                              @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                              Authentication authentication) {
+        return BookingSeriesView.from(bookingSeriesService.cancelOccurrence(id, date, currentUser(authentication)));
+    }
+
+    @PostMapping("/{id}/cancel-from/{date}")
+    public BookingSeriesView cancelFrom(@PathVariable Long id,
+                                        @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                        Authentication authentication) {
+        return BookingSeriesView.from(bookingSeriesService.cancelFrom(id, date, currentUser(authentication)));
+    }
+
+    // Occurrences of the current user's series in [from, to), expanded on the fly
+    @GetMapping("/occurrences")
+    public List<SeriesOccurrence> occurrences(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                              Authentication authentication) {
+        User user = currentUser(authentication);
+        return user.isTutor()
+                ? bookingSeriesService.findOccurrencesByTutorId(user.getId(), from, to)
+                : bookingSeriesService.findOccurrencesByStudentId(user.getId(), from, to);
+    }
+
+    private User currentUser(Authentication authentication) {
+        return userService.findUserByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
\ No newline at end of file
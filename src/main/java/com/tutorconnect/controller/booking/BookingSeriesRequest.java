@@ -0,0 +1,32 @@
+package com.tutorconnect.controller.booking;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+public class BookingSeriesRequest {
+    
+    @NotNull(message = "Tutor is required")
+    private Long tutorId;
+    
+    @NotNull(message = "Subject is required")
+    private Long subjectId;
+    
+    @NotNull(message = "Start time is required")
+    private LocalDateTime firstStartTime;
+    
+    @Min(value = 15, message = "Sessions must be at least 15 minutes long")
+    private int durationMinutes;
+    
+    @Min(value = 1, message = "Interval must be at least one week")
+    private int intervalWeeks = 1;
+    
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+    
+    private String notes;
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.tutorconnect.controller.booking;
+
+import com.tutorconnect.model.Booking;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BookingTransitionRequest {
+    
+    @NotEmpty(message = "At least one booking id is required")
+    private List<Long> bookingIds;
+    
+    @NotNull(message = "Target status is required")
+    private Booking.BookingStatus status;
+}
\ No newline at end of file
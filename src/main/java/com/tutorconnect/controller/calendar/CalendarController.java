@@ -0,0 +1,58 @@
+package com.tutorconnect.controller.calendar;
+
+import com.tutorconnect.model.User;
+import com.tutorconnect.service.UserService;
+import com.tutorconnect.service.calendar.CalendarFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequiredArgsConstructor
+public class CalendarController {
+
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType("text/calendar;charset=UTF-8");
+
+    private final UserService userService;
+    private final CalendarFeedService calendarFeedService;
+
+    // Authenticated by the secret token in the URL, since calendar apps cannot send a JWT
+    @GetMapping("/api/public/calendar/{token}.ics")
+    public ResponseEntity<StreamingResponseBody> feed(@PathVariable String token, WebRequest request) {
+        Optional<User> user = userService.findUserByCalendarToken(token);
+        if (user.isEmpty() || !user.get().isActive()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String etag = calendarFeedService.etag(user.get());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(TEXT_CALENDAR)
+                .body(outputStream -> calendarFeedService.write(user.get(), outputStream));
+    }
+
+    // Issues a new feed URL for the current user; the previous one stops working
+    @PostMapping("/api/calendar/token")
+    public Map<String, String> rotateToken(Authentication authentication) {
+        User user = userService.findUserByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        String token = userService.rotateCalendarToken(user.getId());
+        return Map.of("url", "/api/public/calendar/" + token + ".ics");
+    }
+}
\ No newline at end of file
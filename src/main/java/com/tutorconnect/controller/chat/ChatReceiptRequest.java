@@ -0,0 +1,15 @@
+package com.tutorconnect.controller.chat;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+// Acknowledges all of the other participant's messages in the room up to and including a message id
+@Data
+public class ChatReceiptRequest {
+    
+    @NotNull(message = "Chat room id is required")
+    private Long chatRoomId;
+    
+    @NotNull(message = "Message id is required")
+    private Long upToMessageId;
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.tutorconnect.controller.chat;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class ChatSendRequest {
+    
+    @NotNull(message = "Chat room id is required")
+    private Long chatRoomId;
+    
+    @NotBlank(message = "Message content is required")
+    @Size(max = 2000, message = "Message must be at most 2000 characters")
+    private String content;
+}
\ No newline at end of file
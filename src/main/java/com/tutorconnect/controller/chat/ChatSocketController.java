@@ -0,0 +1,58 @@
+package com.tutorconnect.controller.chat;
+
+import com.tutorconnect.model.ChatRoom;
+import com.tutorconnect.model.User;
+import com.tutorconnect.service.MessageService;
+import com.tutorconnect.service.UserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+import java.util.Map;
+
+// STOMP endpoints for chat clients connected to /ws. New messages and receipts are pushed to
+// /user/queue/messages and /user/queue/receipts; failures are reported on /user/queue/errors.
+@Controller
+@RequiredArgsConstructor
+public class ChatSocketController {
+
+    private final MessageService messageService;
+    private final UserService userService;
+
+    @MessageMapping("/chat.send")
+    public void send(@Valid @Payload ChatSendRequest request, Principal principal) {
+        User sender = currentUser(principal);
+        ChatRoom chatRoom = messageService.findChatRoomForParticipant(request.getChatRoomId(), sender);
+        messageService.sendMessage(chatRoom, sender, request.getContent());
+    }
+
+    @MessageMapping("/chat.delivered")
+    public void delivered(@Valid @Payload ChatReceiptRequest request, Principal principal) {
+        User reader = currentUser(principal);
+        ChatRoom chatRoom = messageService.findChatRoomForParticipant(request.getChatRoomId(), reader);
+        messageService.markMessagesAsDelivered(chatRoom, reader, request.getUpToMessageId());
+    }
+
+    @MessageMapping("/chat.read")
+    public void read(@Valid @Payload ChatReceiptRequest request, Principal principal) {
+        User reader = currentUser(principal);
+        ChatRoom chatRoom = messageService.findChatRoomForParticipant(request.getChatRoomId(), reader);
+        messageService.markMessagesAsRead(chatRoom, reader, request.getUpToMessageId());
+    }
+
+    @MessageExceptionHandler
+    @SendToUser(destinations = "/queue/errors", broadcast = false)
+    public Map<String, String> handleException(Exception e) {
+        return Map.of("error", e.getMessage() != null ? e.getMessage() : "Request failed");
+    }
+
+    private User currentUser(Principal principal) {
+        return userService.findUserByEmail(principal.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.tutorconnect.controller.chat;
+
+import com.tutorconnect.dto.CursorPage;
+import com.tutorconnect.dto.MessageView;
+import com.tutorconnect.dto.UnreadMessageCounts;
+import com.tutorconnect.model.User;
+import com.tutorconnect.service.MessageService;
+import com.tutorconnect.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/messages")
+@RequiredArgsConstructor
+public class MessageController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final MessageService messageService;
+    private final UserService userService;
+
+    // Pages backwards from the newest message with ?cursor=, or forwards from a known message with
+    // ?afterId= (and ?cursor= for the following pages)
+    @GetMapping("/chatrooms/{chatRoomId}/messages")
+    public CursorPage<MessageView> history(@PathVariable Long chatRoomId,
+                                           @RequestParam(required = false) Long afterId,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(defaultValue = "50") int size,
+                                           Authentication authentication) {
+        messageService.findChatRoomForParticipant(chatRoomId, currentUser(authentication));
+        if (afterId != null) {
+            return messageService.findMessagesSince(chatRoomId, afterId, cursor, boundedSize(size));
+        }
+        return messageService.findMessageHistory(chatRoomId, cursor, boundedSize(size));
+    }
+
+    @PostMapping("/chatrooms/{chatRoomId}/read")
+    public Map<String, Integer> markAsRead(@PathVariable Long chatRoomId, Authentication authentication) {
+        User user = currentUser(authentication);
+        messageService.findChatRoomForParticipant(chatRoomId, user);
+        return Map.of("updated", messageService.markMessagesAsRead(chatRoomId, user.getId()));
+    }
+
+    @GetMapping("/unread")
+    public UnreadMessageCounts getUnreadCounts(Authentication authentication) {
+        return messageService.getUnreadMessageCounts(currentUser(authentication).getId());
+    }
+
+    private int boundedSize(int size) {
+        return Math.min(Math.max(1, size), MAX_PAGE_SIZE);
+    }
+
+    private User currentUser(Authentication authentication) {
+        return userService.findUserByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.tutorconnect.controller.notification;
+
+import com.tutorconnect.dto.CursorPage;
+import com.tutorconnect.dto.NotificationView;
+import com.tutorconnect.model.User;
+import com.tutorconnect.security.JwtTokenProvider;
+import com.tutorconnect.service.NotificationService;
+import com.tutorconnect.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final NotificationService notificationService;
+    private final UserService userService;
+    private final JwtTokenProvider jwtTokenProvider;
+
+    @GetMapping
+    public CursorPage<NotificationView> list(@RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "20") int size,
+                                             Authentication authentication) {
+        return notificationService.findNotificationPage(
+                currentUser(authentication).getId(), cursor, Math.min(Math.max(1, size), MAX_PAGE_SIZE));
+    }
+
+    // Server-sent events: "notification" events carry the notification id as the event id, so a
+    // reconnecting EventSource resumes through its Last-Event-ID header; "unread-count" events
+    // carry the unread count when the stream opens and changes to it afterwards. Browsers connect
+    // with ?ticket= from /stream-ticket; a client that opens a new EventSource after the ticket
+    // expired passes the last id it saw as ?lastEventId=, since only reconnects send the header.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+                             @RequestParam(value = "lastEventId", required = false) Long lastEventId,
+                             Authentication authentication) {
+        return notificationService.openStream(currentUser(authentication).getId(),
+                lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
+    @PostMapping("/stream-ticket")
+    public Map<String, String> streamTicket(Authentication authentication) {
+        return Map.of("ticket", jwtTokenProvider.createStreamTicket(authentication.getName()));
+    }
+
+    @PostMapping("/{id}/read")
+    public Map<String, Integer> markAsRead(@PathVariable Long id, Authentication authentication) {
+        return Map.of("updated", notificationService.markNotificationAsRead(id, currentUser(authentication).getId()));
+    }
+
+    @PostMapping("/read-all")
+    public Map<String, Integer> markAllAsRead(Authentication authentication) {
+        return Map.of("updated", notificationService.markAllNotificationsAsRead(currentUser(authentication).getId()));
+    }
+
+    private User currentUser(Authentication authentication) {
+        return userService.findUserByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.tutorconnect.controller.review;
+
+import com.tutorconnect.dto.CursorPage;
+import com.tutorconnect.dto.ReviewView;
+import com.tutorconnect.service.ReviewService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/reviews")
+@RequiredArgsConstructor
+public class ReviewController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ReviewService reviewService;
+
+    @GetMapping("/tutors/{tutorId}")
+    public CursorPage<ReviewView> tutorReviews(@PathVariable Long tutorId,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "20") int size) {
+        return reviewService.findReviewFeedByTutorId(tutorId, cursor, boundedSize(size));
+    }
+
+    @GetMapping("/students/{studentId}")
+    public CursorPage<ReviewView> studentReviews(@PathVariable Long studentId,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "20") int size) {
+        return reviewService.findReviewFeedByStudentId(studentId, cursor, boundedSize(size));
+    }
+
+    private int boundedSize(int size) {
+        return Math.min(Math.max(1, size), MAX_PAGE_SIZE);
+    }
+}
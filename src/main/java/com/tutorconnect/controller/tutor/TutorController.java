@@ -0,0 +1,98 @@
+package com.tutorconnect.controller.tutor;
+
+import com.tutorconnect.dto.CursorPage;
+import com.tutorconnect.dto.TimeSlot;
+import com.tutorconnect.dto.TutorCard;
+import com.tutorconnect.dto.TutorReviewStatsView;
+import com.tutorconnect.service.TutorReviewStatsService;
+import com.tutorconnect.service.availability.AvailabilityService;
+import com.tutorconnect.service.UserService;
+import com.tutorconnect.service.search.TutorSearchCriteria;
+import com.tutorconnect.service.search.TutorSearchResult;
+import com.tutorconnect.service.search.TutorSearchService;
+import com.tutorconnect.service.search.TutorSortOrder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tutors")
+@RequiredArgsConstructor
+public class TutorController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final UserService userService;
+    private final TutorSearchService tutorSearchService;
+    private final TutorReviewStatsService tutorReviewStatsService;
+    private final AvailabilityService availabilityService;
+
+    @GetMapping
+    public CursorPage<TutorCard> list(@RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "20") int size) {
+        return userService.findTutorCards(cursor, Math.min(Math.max(1, size), MAX_PAGE_SIZE));
+    }
+
+    @GetMapping("/top")
+    public List<TutorCard> top(@RequestParam Long subjectId,
+                               @RequestParam(defaultValue = "10") int limit) {
+        return tutorSearchService.findTopTutors(subjectId, limit);
+    }
+
+    @GetMapping("/available")
+    public List<TutorCard> available(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                     @RequestParam(required = false) List<Long> subjects,
+                                     @RequestParam(required = false) String sortBy,
+                                     @RequestParam(defaultValue = "20") int limit) {
+        return availabilityService.findFreeTutors(start, end, subjects, TutorSortOrder.fromParam(sortBy), limit);
+    }
+
+    @GetMapping("/search")
+    public TutorSearchResult search(@RequestParam(required = false) String query,
+                                    @RequestParam(required = false) List<Long> subjects,
+                                    @RequestParam(required = false) Double minPrice,
+                                    @RequestParam(required = false) Double maxPrice,
+                                    @RequestParam(required = false) Double minRating,
+                                    @RequestParam(required = false) String sortBy,
+                                    @RequestParam(defaultValue = "0") int page,
+                                    @RequestParam(defaultValue = "20") int size) {
+        TutorSearchCriteria criteria = new TutorSearchCriteria(
+                query,
+                subjects != null ? subjects : new ArrayList<>(),
+                minPrice,
+                maxPrice,
+                minRating,
+                TutorSortOrder.fromParam(sortBy),
+                page,
+                size);
+        return tutorSearchService.search(criteria);
+    }
+
+    @GetMapping("/{id}/review-stats")
+    public TutorReviewStatsView reviewStats(@PathVariable Long id) {
+        return tutorReviewStatsService.getStats(id);
+    }
+
+    @GetMapping("/{id}/availability")
+    public List<TimeSlot> availability(@PathVariable Long id,
+                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return availabilityService.findFreeSlots(id, from, to);
+    }
+
+    @GetMapping("/{id}/availability/conflict")
+    public boolean conflict(@PathVariable Long id,
+                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        return availabilityService.hasConflict(id, start, end);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.tutorconnect.dto;
+
+import java.time.LocalDateTime;
+
+// Spring Data projection of a booking's time range
+public interface BookingInterval {
+    Long getId();
+    Long getTutorId();
+    LocalDateTime getStartTime();
+    LocalDateTime getEndTime();
+}
\ No newline at end of file
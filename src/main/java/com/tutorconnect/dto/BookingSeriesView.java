@@ -0,0 +1,47 @@
+package com.tutorconnect.dto;
+
+import com.tutorconnect.model.Booking;
+import com.tutorconnect.model.BookingSeries;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSeriesView {
+    
+    private Long id;
+    private Long tutorId;
+    private String tutorName;
+    private Long studentId;
+    private String studentName;
+    private Long subjectId;
+    private String subjectName;
+    private LocalDateTime firstStartTime;
+    private int durationMinutes;
+    private int intervalWeeks;
+    private LocalDate endDate;
+    private String notes;
+    private Booking.BookingStatus status;
+    
+    public static BookingSeriesView from(BookingSeries series) {
+        return new BookingSeriesView(
+                series.getId(),
+                series.getTutor().getId(),
+                series.getTutor().getFullName(),
+                series.getStudent().getId(),
+                series.getStudent().getFullName(),
+                series.getSubject().getId(),
+                series.getSubject().getName(),
+                series.getFirstStartTime(),
+                series.getDurationMinutes(),
+                series.getIntervalWeeks(),
+                series.getEndDate(),
+                series.getNotes(),
+                series.getStatus());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.tutorconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSweepStats {
+    
+    private boolean running;
+    private long runs;
+    private long totalCompleted;
+    private long totalExpired;
+    private LocalDateTime lastRunStartedAt;
+    private long lastRunMillis;
+    private int lastRunCompleted;
+    private int lastRunExpired;
+    private int lastRunChunks;
+    private String lastError;
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.tutorconnect.dto;
+
+import com.tutorconnect.model.Booking;
+
+import java.time.LocalDateTime;
+
+// Spring Data projection with what a bulk status change needs to validate and notify
+public interface BookingTransitionRow {
+    Long getId();
+    Booking.BookingStatus getStatus();
+    Long getTutorId();
+    Long getStudentId();
+    String getTutorName();
+    LocalDateTime getStartTime();
+    LocalDateTime getEndTime();
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.tutorconnect.dto;
+
+import com.tutorconnect.model.Booking;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransitionResult {
+    
+    private Booking.BookingStatus status;
+    private List<Long> updated;
+    
+    // booking id -> reason it was left unchanged
+    private Map<Long, String> skipped;
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.tutorconnect.dto;
+
+import com.tutorconnect.model.Booking;
+
+import java.time.LocalDateTime;
+
+// Spring Data projection with the fields of one calendar feed event
+public interface CalendarEventRow {
+    Long getId();
+    Booking.BookingStatus getStatus();
+    LocalDateTime getStartTime();
+    LocalDateTime getEndTime();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    String getSubjectName();
+    String getTutorName();
+    String getStudentName();
+    String getMeetingLink();
+}
\ No newline at end of file
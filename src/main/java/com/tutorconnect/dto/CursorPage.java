@@ -0,0 +1,85 @@
+package com.tutorconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+// One page of a keyset-paginated listing; nextCursor is null on the last page
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    
+    private static final String SEPARATOR = "|";
+    
+    // Written for null parts, so they decode back to null instead of the string "null"
+    private static final String NULL = "~";
+    
+    private List<T> items;
+    private String nextCursor;
+    
+    // Fetching one row more than requested tells whether another page exists
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new CursorPage<>(items, cursorOf.apply(items.get(size - 1)));
+    }
+    
+    public static String encode(Object... parts) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(parts[i] == null ? NULL : parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != expectedParts) {
+                throw new IllegalArgumentException();
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor();
+        }
+    }
+    
+    // Parses one decoded part; a malformed value is rejected the same way as a malformed cursor
+    public static <V> V parse(String part, Function<String, V> parser) {
+        V value = parseNullable(part, parser);
+        if (value == null) {
+            throw invalidCursor();
+        }
+        return value;
+    }
+    
+    public static <V> V parseNullable(String part, Function<String, V> parser) {
+        if (NULL.equals(part)) {
+            return null;
+        }
+        try {
+            return parser.apply(part);
+        } catch (RuntimeException e) {
+            throw invalidCursor();
+        }
+    }
+    
+    // A cursor comes from the client, so a malformed one is a 400, not a server error
+    private static ResponseStatusException invalidCursor() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.tutorconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Tells a sender that the other participant received or read their messages up to a message id
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageReceipt {
+    
+    public enum Type {
+        DELIVERED, READ
+    }
+    
+    private Long chatRoomId;
+    private Type type;
+    private Long upToMessageId;
+    private int count;
+    private LocalDateTime at;
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.tutorconnect.dto;
+
+import com.tutorconnect.model.Message;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageView {
+    
+    private Long id;
+    private Long chatRoomId;
+    private Long senderId;
+    private String senderName;
+    private String content;
+    private LocalDateTime sentAt;
+    private LocalDateTime deliveredAt;
+    private LocalDateTime readAt;
+    
+    public static MessageView from(Message message) {
+        return new MessageView(
+                message.getId(),
+                message.getChatRoom().getId(),
+                message.getSender().getId(),
+                message.getSender().getFullName(),
+                message.getContent(),
+                message.getSentAt(),
+                message.getDeliveredAt(),
+                message.getReadAt());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.tutorconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPurgeStats {
+    
+    private boolean running;
+    private long runs;
+    private long totalPurged;
+    private long totalArchived;
+    private LocalDateTime lastRunStartedAt;
+    private long lastRunMillis;
+    private int lastRunPurged;
+    private int lastRunBatches;
+    private double lastRunRowsPerSecond;
+    private long notificationRows;
+    private long archivedRows;
+    private String lastError;
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.tutorconnect.dto;
+
+import com.tutorconnect.model.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationView {
+    
+    private Long id;
+    private String title;
+    private String message;
+    private Notification.NotificationType type;
+    private String link;
+    private boolean read;
+    private int occurrences;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastOccurredAt;
+    
+    public static NotificationView from(Notification notification) {
+        return new NotificationView(
+                notification.getId(),
+                notification.getTitle(),
+                notification.getMessage(),
+                notification.getType(),
+                notification.getLink(),
+                notification.isRead(),
+                notification.getOccurrences() != null ? notification.getOccurrences() : 1,
+                notification.getCreatedAt(),
+                notification.getLastOccurredAt() != null ? notification.getLastOccurredAt() : notification.getCreatedAt());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.tutorconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxStats {
+    
+    private long pending;
+    private long failed;
+    private LocalDateTime oldestPendingAt;
+    private long delivered;
+    private long retried;
+    private long deadLettered;
+    
+    // Time from an event being written to its notification being created
+    private long lastLagMillis;
+    private long maxLagMillis;
+    private LocalDateTime lastRunStartedAt;
+    private long lastRunMillis;
+    private int lastRunDelivered;
+    private String lastError;
+}
\ No newline at end of file
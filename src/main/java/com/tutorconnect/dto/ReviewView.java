@@ -0,0 +1,39 @@
+package com.tutorconnect.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Review without its student, tutor and booking entity graphs
+@Data
+@NoArgsConstructor
+public class ReviewView {
+    
+    private Long id;
+    private Integer rating;
+    private String comment;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long bookingId;
+    private Long studentId;
+    private String studentName;
+    private Long tutorId;
+    private String tutorName;
+    
+    // Used by JPQL constructor projections
+    public ReviewView(Long id, Integer rating, String comment, LocalDateTime createdAt, LocalDateTime updatedAt,
+                      Long bookingId, Long studentId, String studentFirstName, String studentLastName,
+                      Long tutorId, String tutorFirstName, String tutorLastName) {
+        this.id = id;
+        this.rating = rating;
+        this.comment = comment;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.bookingId = bookingId;
+        this.studentId = studentId;
+        this.studentName = studentFirstName + " " + studentLastName;
+        this.tutorId = tutorId;
+        this.tutorName = tutorFirstName + " " + tutorLastName;
+    }
+}
\ No newline at end of file
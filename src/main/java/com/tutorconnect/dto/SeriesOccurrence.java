@@ -0,0 +1,26 @@
+package com.tutorconnect.dto;
+
+import com.tutorconnect.model.Booking;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One expanded occurrence of a booking series
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeriesOccurrence {
+    
+    private Long seriesId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Booking.BookingStatus status;
+    private Long tutorId;
+    private String tutorName;
+    private Long studentId;
+    private String studentName;
+    private Long subjectId;
+    private String subjectName;
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.tutorconnect.dto;
+
+import com.tutorconnect.model.Subject;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubjectSummary {
+    
+    private Long id;
+    private String name;
+    
+    public static SubjectSummary from(Subject subject) {
+        return new SubjectSummary(subject.getId(), subject.getName());
+    }
+}
\ No newline at end of file
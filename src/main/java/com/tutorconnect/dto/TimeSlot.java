@@ -0,0 +1,16 @@
+package com.tutorconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeSlot {
+    
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
\ No newline at end of file
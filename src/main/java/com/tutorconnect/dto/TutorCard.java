@@ -0,0 +1,65 @@
+package com.tutorconnect.dto;
+
+import com.tutorconnect.model.Tutor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Fields shown on a tutor card in listings and search results
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TutorCard {
+    
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String title;
+    private String bio;
+    private Double hourlyRate;
+    private Integer yearsOfExperience;
+    private Double averageRating;
+    private Integer totalReviews;
+    private String profilePictureUrl;
+    private List<SubjectSummary> subjects = new ArrayList<>();
+    
+    // Used by JPQL constructor projections; subjects are attached separately
+    public TutorCard(Long id, String firstName, String lastName, String title, String bio,
+                     Double hourlyRate, Integer yearsOfExperience, Double averageRating,
+                     Integer totalReviews, String profilePictureUrl) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.title = title;
+        this.bio = bio;
+        this.hourlyRate = hourlyRate;
+        this.yearsOfExperience = yearsOfExperience;
+        this.averageRating = averageRating;
+        this.totalReviews = totalReviews;
+        this.profilePictureUrl = profilePictureUrl;
+    }
+    
+    public static TutorCard from(Tutor tutor) {
+        List<SubjectSummary> subjects = tutor.getSubjects().stream()
+                .map(SubjectSummary::from)
+                .sorted(Comparator.comparing(SubjectSummary::getName))
+                .toList();
+        
+        return new TutorCard(
+                tutor.getId(),
+                tutor.getFirstName(),
+                tutor.getLastName(),
+                tutor.getTitle(),
+                tutor.getBio(),
+                tutor.getHourlyRate(),
+                tutor.getYearsOfExperience(),
+                tutor.getAverageRating(),
+                tutor.getTotalReviews(),
+                tutor.getProfilePictureUrl(),
+                new ArrayList<>(subjects));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.tutorconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TutorReviewStatsView {
+    
+    private Long tutorId;
+    private int totalReviews;
+    private double averageRating;
+    
+    // stars (1-5) -> number of reviews
+    private Map<Integer, Integer> histogram;
+    
+    private long last30DaysReviews;
+    private Double last30DaysAverage;
+    private long last90DaysReviews;
+    private Double last90DaysAverage;
+    private LocalDateTime lastReviewAt;
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.tutorconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Flattened tutor_subjects row used to attach subjects to projected tutor cards
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TutorSubjectRow {
+    
+    private Long tutorId;
+    private Long subjectId;
+    private String subjectName;
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.tutorconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Sent on the notification stream: the full count when a stream opens, otherwise only the change
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadCountUpdate {
+    
+    private Integer count;
+    private int delta;
+    
+    public static UnreadCountUpdate snapshot(int count) {
+        return new UnreadCountUpdate(count, 0);
+    }
+    
+    public static UnreadCountUpdate delta(int delta) {
+        return new UnreadCountUpdate(null, delta);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.tutorconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadMessageCounts {
+    
+    private int total;
+    
+    // chat room id -> unread messages in it; rooms without unread messages are left out
+    private Map<Long, Integer> byChatRoom;
+}
\ No newline at end of file
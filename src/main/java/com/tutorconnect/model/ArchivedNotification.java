@@ -0,0 +1,56 @@
+package com.tutorconnect.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A notification removed by NotificationPurger while archiving is enabled; keeps the original id
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "notifications_archive", indexes = {
+    @Index(name = "idx_notifications_archive_user", columnList = "user_id, id")
+})
+public class ArchivedNotification {
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false)
+    private String title;
+    
+    @Column(nullable = false)
+    private String message;
+    
+    @Column(nullable = false)
+    private boolean read;
+    
+    @Column
+    private LocalDateTime readAt;
+    
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Notification.NotificationType type;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column
+    private String link;
+    
+    @Column
+    private Integer occurrences;
+    
+    @Column
+    private LocalDateTime lastOccurredAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
\ No newline at end of file
@@ -6,12 +6,18 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_status_end", columnList = "status, end_time"),
+    @Index(name = "idx_bookings_student_end", columnList = "student_id, end_time"),
+    @Index(name = "idx_bookings_tutor_end", columnList = "tutor_id, end_time")
+})
 public class Booking {
     
     @Id
@@ -33,7 +39,7 @@ public class Booking {
     @Column(nullable = false)
     private LocalDateTime startTime;
     
-    @Column(nullable = false)
+    @Column(name = "end_time", nullable = false)
     private LocalDateTime endTime;
     
     @Column
@@ -52,8 +58,27 @@ public class Booking {
     @Column
     private LocalDateTime updatedAt;
     
+    // Lead time in minutes of the last session reminder sent, null before the first one
+    @Column
+    private Integer reminderMinutesSent;
+    
     public enum BookingStatus {
-        PENDING, CONFIRMED, COMPLETED, CANCELLED, REJECTED
+        PENDING, CONFIRMED, COMPLETED, CANCELLED, REJECTED,
+        // Still pending when its end time passed; only set by BookingSweeper
+        EXPIRED;
+        
+        public boolean canTransitionTo(BookingStatus target) {
+            return switch (this) {
+                case PENDING -> target == CONFIRMED || target == REJECTED || target == CANCELLED;
+                case CONFIRMED -> target == COMPLETED || target == CANCELLED;
+                default -> false;
+            };
+        }
+        
+        // Statuses from which a booking may move to the target
+        public static List<BookingStatus> sourcesOf(BookingStatus target) {
+            return Arrays.stream(values()).filter(status -> status.canTransitionTo(target)).toList();
+        }
     }
     
     public Booking(Student student, Tutor tutor, Subject subject, LocalDateTime startTime, LocalDateTime endTime) {
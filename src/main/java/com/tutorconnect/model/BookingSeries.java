@@ -0,0 +1,103 @@
+package com.tutorconnect.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// A weekly recurring booking. Occurrences are not stored; they are expanded from the rule on
+// demand, and cancelled single occurrences are recorded as BookingSeriesCancellation rows.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "booking_series", indexes = {
+    @Index(name = "idx_booking_series_tutor_status", columnList = "tutor_id, status"),
+    @Index(name = "idx_booking_series_student_status", columnList = "student_id, status")
+})
+public class BookingSeries {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+    
+    @ManyToOne
+    @JoinColumn(name = "tutor_id", nullable = false)
+    private Tutor tutor;
+    
+    @ManyToOne
+    @JoinColumn(name = "subject_id", nullable = false)
+    private Subject subject;
+    
+    // Start of the first occurrence; the others follow every intervalWeeks weeks at the same time
+    @Column(nullable = false)
+    private LocalDateTime firstStartTime;
+    
+    @Column(nullable = false)
+    private int durationMinutes;
+    
+    @Column(nullable = false)
+    private int intervalWeeks = 1;
+    
+    // Last day an occurrence may fall on
+    @Column(nullable = false)
+    private LocalDate endDate;
+    
+    @Column
+    private String notes;
+    
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Booking.BookingStatus status = Booking.BookingStatus.PENDING;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+    
+    @Column
+    private LocalDateTime updatedAt;
+    
+    public BookingSeries(Student student, Tutor tutor, Subject subject, LocalDateTime firstStartTime,
+                         int durationMinutes, int intervalWeeks, LocalDate endDate) {
+        this.student = student;
+        this.tutor = tutor;
+        this.subject = subject;
+        this.firstStartTime = firstStartTime;
+        this.durationMinutes = durationMinutes;
+        this.intervalWeeks = intervalWeeks;
+        this.endDate = endDate;
+    }
+    
+    public void confirm() {
+        this.status = Booking.BookingStatus.CONFIRMED;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public void reject() {
+        this.status = Booking.BookingStatus.REJECTED;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    public void cancel() {
+        this.status = Booking.BookingStatus.CANCELLED;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    // Drops the occurrences on and after the given day; cancels the series if none are left
+    public void endBefore(LocalDate date) {
+        if (!date.isAfter(firstStartTime.toLocalDate())) {
+            cancel();
+            return;
+        }
+        if (date.minusDays(1).isBefore(endDate)) {
+            this.endDate = date.minusDays(1);
+        }
+        this.updatedAt = LocalDateTime.now();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.tutorconnect.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "booking_series_cancellations",
+    uniqueConstraints = @UniqueConstraint(name = "uk_series_cancellation_date", columnNames = {"series_id", "occurrence_date"}))
+public class BookingSeriesCancellation {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "series_id", nullable = false)
+    private BookingSeries series;
+    
+    @Column(name = "occurrence_date", nullable = false)
+    private LocalDate occurrenceDate;
+    
+    @ManyToOne
+    @JoinColumn(name = "cancelled_by", nullable = false)
+    private User cancelledBy;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+    
+    public BookingSeriesCancellation(BookingSeries series, LocalDate occurrenceDate, User cancelledBy) {
+        this.series = series;
+        this.occurrenceDate = occurrenceDate;
+        this.cancelledBy = cancelledBy;
+    }
+}
\ No newline at end of file
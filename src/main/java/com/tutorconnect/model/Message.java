@@ -11,7 +11,9 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+    @Index(name = "idx_messages_room_sent", columnList = "chat_room_id, sent_at, id")
+})
 public class Message {
     
     @Id
@@ -29,9 +31,13 @@ public class Message {
     @Column(nullable = false, length = 2000)
     private String content;
     
-    @Column(nullable = false)
+    @Column(name = "sent_at", nullable = false)
     private LocalDateTime sentAt = LocalDateTime.now();
     
+    // Set when the recipient's client acknowledged receiving the message
+    @Column
+    private LocalDateTime deliveredAt;
+    
     @Column
     private LocalDateTime readAt;
     
@@ -11,7 +11,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_user_id", columnList = "user_id, id"),
+    @Index(name = "idx_notifications_coalesce", columnList = "user_id, type, link"),
+    @Index(name = "idx_notifications_read_purge", columnList = "type, read_at, id"),
+    @Index(name = "idx_notifications_age_purge", columnList = "type, last_occurred_at, created_at, id")
+})
 public class Notification {
     
     @Id
@@ -28,22 +33,32 @@ public class Notification {
     @Column(nullable = false)
     private String message;
     
-    @Column(nullable = false)
+    @Column(name = "read", nullable = false)
     private boolean read = false;
     
-    @Column(nullable = false)
+    @Column(name = "read_at")
+    private LocalDateTime readAt;
+    
+    @Column(name = "type", nullable = false)
     @Enumerated(EnumType.STRING)
     private NotificationType type;
     
-    @Column(nullable = false)
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
     
     @Column
     private String link;
     
+    // Number of events folded into this notification, see NotificationService.deliver
+    @Column
+    private Integer occurrences = 1;
+    
+    @Column(name = "last_occurred_at")
+    private LocalDateTime lastOccurredAt = createdAt;
+    
     public enum NotificationType {
         BOOKING_REQUEST, BOOKING_CONFIRMATION, BOOKING_CANCELLATION, 
-        NEW_MESSAGE, SYSTEM_ALERT, PAYMENT
+        NEW_MESSAGE, SYSTEM_ALERT, PAYMENT, SESSION_REMINDER
     }
     
     public Notification(User user, String title, String message, NotificationType type, String link) {
@@ -57,5 +72,6 @@ public class Notification {
     // Method to mark notification as read
     public void markAsRead() {
         this.read = true;
+        this.readAt = LocalDateTime.now();
     }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.tutorconnect.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A notification waiting to be created and pushed by NotificationOutboxDispatcher. Written in
+// the transaction of the change it reports and deleted once delivered.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "notification_outbox", indexes = {
+    @Index(name = "idx_notification_outbox_due", columnList = "status, next_attempt_at, id"),
+    @Index(name = "idx_notification_outbox_recipient", columnList = "recipient_id, id")
+})
+public class NotificationOutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "recipient_id", nullable = false)
+    private Long recipientId;
+    
+    @Column(nullable = false)
+    private String title;
+    
+    @Column(nullable = false)
+    private String message;
+    
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Notification.NotificationType type;
+    
+    @Column
+    private String link;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+    
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.PENDING;
+    
+    // Due time of a pending event; pushed forward while a dispatcher holds it and after a failure
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt = LocalDateTime.now();
+    
+    // Held until the next digest run and then delivered together with the recipient's other
+    // deferred events of the same type
+    @Column(nullable = false)
+    private boolean deferred = false;
+    
+    @Column(nullable = false)
+    private int attempts = 0;
+    
+    @Column(length = 500)
+    private String lastError;
+    
+    public enum Status {
+        PENDING, FAILED
+    }
+    
+    public NotificationOutboxEvent(Long recipientId, String title, String message,
+                                   Notification.NotificationType type, String link) {
+        this.recipientId = recipientId;
+        this.title = title;
+        this.message = message;
+        this.type = type;
+        this.link = link;
+    }
+}
\ No newline at end of file
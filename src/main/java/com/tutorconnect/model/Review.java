@@ -11,7 +11,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+    @Index(name = "idx_reviews_tutor_created", columnList = "tutor_id, created_at, id"),
+    @Index(name = "idx_reviews_student_created", columnList = "student_id, created_at, id")
+})
 public class Review {
     
     @Id
@@ -32,7 +35,7 @@ public class Review {
     @Column(length = 1000)
     private String comment;
     
-    @Column(nullable = false)
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
     
     @Column
@@ -55,4 +58,22 @@ public class Review {
         this.comment = comment;
         this.updatedAt = LocalDateTime.now();
     }
+    
+    // Equal by id, with a constant hash: the hash stays put when save assigns the id, and
+    // neither walks the lazy collections
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Review other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+    
+    @Override
+    public int hashCode() {
+        return Review.class.hashCode();
+    }
 }
\ No newline at end of file
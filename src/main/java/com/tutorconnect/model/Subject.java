@@ -40,4 +40,22 @@ public class Subject {
         this.name = name;
         this.description = description;
     }
+    
+    // Equal by id, with a constant hash: the hash stays put when save assigns the id, and
+    // neither walks the lazy collections
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Subject other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+    
+    @Override
+    public int hashCode() {
+        return Subject.class.hashCode();
+    }
 }
\ No newline at end of file
@@ -10,11 +10,13 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Data
-@EqualsAndHashCode(callSuper = true)
+@EqualsAndHashCode(callSuper = true, onlyExplicitlyIncluded = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "tutors")
+@Table(name = "tutors", indexes = {
+    @Index(name = "idx_tutors_rating_id", columnList = "average_rating, user_id")
+})
 @PrimaryKeyJoinColumn(name = "user_id")
 public class Tutor extends User {
     
@@ -33,12 +35,18 @@ public class Tutor extends User {
     @Column
     private String profilePictureUrl;
     
-    @Column
+    // Ratings are maintained by TutorRatingAggregator with in-place UPDATEs only; saving the entity
+    // never writes them, so a save cannot overwrite a flush that happened after the tutor was loaded
+    @Column(name = "average_rating", updatable = false)
     private Double averageRating = 0.0;
     
-    @Column
+    @Column(updatable = false)
     private Integer totalReviews = 0;
     
+    // Sum of all review ratings
+    @Column(updatable = false)
+    private Long ratingSum = 0L;
+    
     @OneToMany(mappedBy = "tutor", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<TutorExpertise> expertises = new HashSet<>();
     
@@ -70,33 +78,4 @@ public class Tutor extends User {
         this.subjects.remove(subject);
         subject.getTutors().remove(this);
     }
-    
-    // Method to update average rating
-    public void updateRating(Integer oldRating, Integer newRating) {
-        if (oldRating != null) {
-            // Updating an existing rating
-            double totalScore = averageRating * totalReviews;
-            totalScore = totalScore - oldRating + newRating;
-            this.averageRating = totalScore / totalReviews;
-        } else {
-            // Adding a new rating
-            double totalScore = averageRating * totalReviews;
-            totalScore += newRating;
-            this.totalReviews++;
-            this.averageRating = totalScore / totalReviews;
-        }
-    }
-    
-    // Method to remove a rating
-    public void removeRating(Integer rating) {
-        if (totalReviews > 1) {
-            double totalScore = averageRating * totalReviews;
-            totalScore -= rating;
-            this.totalReviews--;
-            this.averageRating = totalScore / totalReviews;
-        } else {
-            this.averageRating = 0.0;
-            this.totalReviews = 0;
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.tutorconnect.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Ratings of a tutor's reviews bucketed by the day they were written, for rolling averages
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tutor_review_daily_stats",
+    uniqueConstraints = @UniqueConstraint(name = "uk_review_daily_tutor_date", columnNames = {"tutor_id", "review_date"}))
+public class TutorReviewDailyStats {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "tutor_id", nullable = false)
+    private Long tutorId;
+    
+    @Column(name = "review_date", nullable = false)
+    private LocalDate reviewDate;
+    
+    @Column(nullable = false)
+    private Long ratingSum = 0L;
+    
+    @Column(nullable = false)
+    private Long reviewCount = 0L;
+}
\ No newline at end of file
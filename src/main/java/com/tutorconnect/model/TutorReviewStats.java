@@ -0,0 +1,47 @@
+package com.tutorconnect.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Star distribution of a tutor's reviews, maintained incrementally by TutorReviewStatsService
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tutor_review_stats")
+public class TutorReviewStats {
+    
+    @Id
+    @Column(name = "tutor_id")
+    private Long tutorId;
+    
+    @Column(nullable = false)
+    private Integer oneStarCount = 0;
+    
+    @Column(nullable = false)
+    private Integer twoStarCount = 0;
+    
+    @Column(nullable = false)
+    private Integer threeStarCount = 0;
+    
+    @Column(nullable = false)
+    private Integer fourStarCount = 0;
+    
+    @Column(nullable = false)
+    private Integer fiveStarCount = 0;
+    
+    @Column
+    private LocalDateTime lastReviewAt;
+    
+    public int getTotalReviews() {
+        return oneStarCount + twoStarCount + threeStarCount + fourStarCount + fiveStarCount;
+    }
+    
+    public int getRatingSum() {
+        return oneStarCount + 2 * twoStarCount + 3 * threeStarCount + 4 * fourStarCount + 5 * fiveStarCount;
+    }
+}
\ No newline at end of file
@@ -48,6 +48,16 @@ public class User {
     
     private LocalDateTime lastLogin;
     
+    // Secret part of the user's calendar feed URL, null until the feed is first requested
+    @Column(unique = true)
+    private String calendarToken;
+    
+    // Tokens issued before this time are rejected; set when all of the user's sessions are revoked.
+    // Only written by UserRepository.updateTokensNotBefore, so saving a loaded user cannot put an
+    // older cutoff back.
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime tokensNotBefore;
+    
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Notification> notifications = new HashSet<>();
     
@@ -71,4 +81,22 @@ public class User {
     public String getFullName() {
         return firstName + " " + lastName;
     }
+    
+    // Equal by id, with a constant hash: the hash stays put when save assigns the id, and
+    // neither walks the lazy collections
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof User other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+    
+    @Override
+    public int hashCode() {
+        return User.class.hashCode();
+    }
 }
\ No newline at end of file
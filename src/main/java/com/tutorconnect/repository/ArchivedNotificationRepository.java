@@ -0,0 +1,9 @@
+package com.tutorconnect.repository;
+
+import com.tutorconnect.model.ArchivedNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedNotificationRepository extends JpaRepository<ArchivedNotification, Long> {
+}
\ No newline at end of file
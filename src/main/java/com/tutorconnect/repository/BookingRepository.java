@@ -1,11 +1,26 @@
 package com.tutorconnect.repository;
 
+import com.tutorconnect.dto.BookingInterval;
+import com.tutorconnect.dto.BookingTransitionRow;
+import com.tutorconnect.dto.CalendarEventRow;
 import com.tutorconnect.model.Booking;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
@@ -20,4 +35,76 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     
     List<Booking> findByTutorIdAndStartTimeBetweenAndStatus(
             Long tutorId, LocalDateTime start, LocalDateTime end, Booking.BookingStatus status);
+    
+    @Query("SELECT b.id AS id, b.tutor.id AS tutorId, b.startTime AS startTime, b.endTime AS endTime " +
+           "FROM Booking b WHERE b.tutor.id = :tutorId AND b.endTime > :now AND b.status IN :statuses")
+    List<BookingInterval> findIntervalsByTutorId(
+            Long tutorId, LocalDateTime now, List<Booking.BookingStatus> statuses);
+    
+    @Query("SELECT b.id AS id, b.tutor.id AS tutorId, b.startTime AS startTime, b.endTime AS endTime " +
+           "FROM Booking b WHERE b.endTime > :now AND b.status IN :statuses")
+    List<BookingInterval> findIntervals(LocalDateTime now, List<Booking.BookingStatus> statuses);
+    
+    @Query("SELECT b.id AS id, b.status AS status, b.tutor.id AS tutorId, b.student.id AS studentId, " +
+           "CONCAT(b.tutor.firstName, ' ', b.tutor.lastName) AS tutorName, " +
+           "b.startTime AS startTime, b.endTime AS endTime FROM Booking b WHERE b.id IN :ids")
+    List<BookingTransitionRow> findTransitionRowsByIdIn(Collection<Long> ids);
+    
+    // Guarded by the source statuses, so a booking changed concurrently is left alone
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :target, b.updatedAt = :now " +
+           "WHERE b.id IN :ids AND b.status IN :sources")
+    int updateStatus(Collection<Long> ids, Booking.BookingStatus target,
+                     List<Booking.BookingStatus> sources, LocalDateTime now);
+    
+    // SELECT ... FOR UPDATE on the bookings among ids, taken in id order so that concurrent bulk
+    // changes over overlapping ids cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id FROM Booking b WHERE b.id IN :ids ORDER BY b.id")
+    List<Long> lockByIdIn(Collection<Long> ids);
+    
+    // Oldest first along idx_bookings_status_end
+    @Query("SELECT b.id AS id, b.tutor.id AS tutorId, b.startTime AS startTime, b.endTime AS endTime " +
+           "FROM Booking b WHERE b.status = :status AND b.endTime < :cutoff ORDER BY b.endTime")
+    List<BookingInterval> findIntervalsEndedBefore(Booking.BookingStatus status, LocalDateTime cutoff, Pageable pageable);
+    
+    @Query("SELECT b.id AS id, b.tutor.id AS tutorId, b.startTime AS startTime, b.endTime AS endTime " +
+           "FROM Booking b WHERE b.status = :status AND b.startTime > :now")
+    List<BookingInterval> findIntervalsStartingAfter(Booking.BookingStatus status, LocalDateTime now);
+    
+    // Claims a reminder for a session still in the given (confirmed) status; a reminder with the
+    // same or a shorter lead time already sent makes this a no-op, so each reminder goes out once
+    // across restarts
+    @Modifying
+    @Query("UPDATE Booking b SET b.reminderMinutesSent = :minutes " +
+           "WHERE b.id = :id AND b.status = :status " +
+           "AND b.startTime = :startTime AND (b.reminderMinutesSent IS NULL OR b.reminderMinutesSent > :minutes)")
+    int claimReminder(Long id, Booking.BookingStatus status, LocalDateTime startTime, int minutes);
+    
+    // Calendar feed rows, streamed from the cursor along idx_bookings_student_end / idx_bookings_tutor_end;
+    // must be consumed inside a transaction
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "200"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT b.id AS id, b.status AS status, b.startTime AS startTime, b.endTime AS endTime, " +
+           "b.createdAt AS createdAt, b.updatedAt AS updatedAt, b.subject.name AS subjectName, " +
+           "CONCAT(b.tutor.firstName, ' ', b.tutor.lastName) AS tutorName, " +
+           "CONCAT(b.student.firstName, ' ', b.student.lastName) AS studentName, b.meetingLink AS meetingLink " +
+           "FROM Booking b WHERE b.student.id = :studentId AND b.endTime > :since ORDER BY b.endTime")
+    Stream<CalendarEventRow> streamCalendarRowsByStudentId(Long studentId, LocalDateTime since);
+    
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "200"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT b.id AS id, b.status AS status, b.startTime AS startTime, b.endTime AS endTime, " +
+           "b.createdAt AS createdAt, b.updatedAt AS updatedAt, b.subject.name AS subjectName, " +
+           "CONCAT(b.tutor.firstName, ' ', b.tutor.lastName) AS tutorName, " +
+           "CONCAT(b.student.firstName, ' ', b.student.lastName) AS studentName, b.meetingLink AS meetingLink " +
+           "FROM Booking b WHERE b.tutor.id = :tutorId AND b.endTime > :since ORDER BY b.endTime")
+    Stream<CalendarEventRow> streamCalendarRowsByTutorId(Long tutorId, LocalDateTime since);
+    
+    // [count, latest created at, latest updated at], enough to tell whether a feed changed
+    @Query("SELECT COUNT(b), MAX(b.createdAt), MAX(b.updatedAt) FROM Booking b " +
+           "WHERE b.student.id = :studentId AND b.endTime > :since")
+    List<Object[]> summarizeByStudentId(Long studentId, LocalDateTime since);
+    
+    @Query("SELECT COUNT(b), MAX(b.createdAt), MAX(b.updatedAt) FROM Booking b " +
+           "WHERE b.tutor.id = :tutorId AND b.endTime > :since")
+    List<Object[]> summarizeByTutorId(Long tutorId, LocalDateTime since);
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.tutorconnect.repository;
+
+import com.tutorconnect.model.BookingSeriesCancellation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BookingSeriesCancellationRepository extends JpaRepository<BookingSeriesCancellation, Long> {
+    boolean existsBySeriesIdAndOccurrenceDate(Long seriesId, LocalDate occurrenceDate);
+    
+    // [series id, occurrence date] of every cancelled occurrence of the given series
+    @Query("SELECT c.series.id, c.occurrenceDate FROM BookingSeriesCancellation c WHERE c.series.id IN :seriesIds")
+    List<Object[]> findDatesBySeriesIdIn(Collection<Long> seriesIds);
+}
\ No newline at end of file
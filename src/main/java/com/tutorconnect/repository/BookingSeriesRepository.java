@@ -0,0 +1,41 @@
+package com.tutorconnect.repository;
+
+import com.tutorconnect.model.Booking;
+import com.tutorconnect.model.BookingSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BookingSeriesRepository extends JpaRepository<BookingSeries, Long> {
+    List<BookingSeries> findByTutorIdAndStatusInAndEndDateGreaterThanEqual(
+            Long tutorId, Collection<Booking.BookingStatus> statuses, LocalDate date);
+    
+    List<BookingSeries> findByStatusInAndEndDateGreaterThanEqual(
+            Collection<Booking.BookingStatus> statuses, LocalDate date);
+    
+    // Series of a tutor whose rule can have occurrences in [from, to)
+    @Query("SELECT s FROM BookingSeries s WHERE s.tutor.id = :tutorId AND s.status IN :statuses " +
+           "AND s.firstStartTime < :to AND s.endDate >= :fromDate")
+    List<BookingSeries> findByTutorIdInWindow(Long tutorId, Collection<Booking.BookingStatus> statuses,
+                                              LocalDate fromDate, LocalDateTime to);
+    
+    @Query("SELECT s FROM BookingSeries s WHERE s.student.id = :studentId AND s.status IN :statuses " +
+           "AND s.firstStartTime < :to AND s.endDate >= :fromDate")
+    List<BookingSeries> findByStudentIdInWindow(Long studentId, Collection<Booking.BookingStatus> statuses,
+                                                LocalDate fromDate, LocalDateTime to);
+    
+    // [count, latest created at, latest updated at] of the series a calendar feed shows
+    @Query("SELECT COUNT(s), MAX(s.createdAt), MAX(s.updatedAt) FROM BookingSeries s " +
+           "WHERE s.student.id = :studentId AND s.endDate >= :fromDate")
+    List<Object[]> summarizeByStudentId(Long studentId, LocalDate fromDate);
+    
+    @Query("SELECT COUNT(s), MAX(s.createdAt), MAX(s.updatedAt) FROM BookingSeries s " +
+           "WHERE s.tutor.id = :tutorId AND s.endDate >= :fromDate")
+    List<Object[]> summarizeByTutorId(Long tutorId, LocalDate fromDate);
+}
\ No newline at end of file
@@ -1,9 +1,14 @@
 package com.tutorconnect.repository;
 
+import com.tutorconnect.dto.MessageView;
 import com.tutorconnect.model.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -11,4 +16,48 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     List<Message> findByChatRoomIdOrderBySentAtAsc(Long chatRoomId);
     List<Message> findByChatRoomIdAndSenderIdNotAndReadFalse(Long chatRoomId, Long senderId);
     int countByChatRoomIdAndSenderIdNotAndReadFalse(Long chatRoomId, Long senderId);
+    
+    // Keyset pagination over (sentAt, id), backed by idx_messages_room_sent
+    @Query("SELECT new com.tutorconnect.dto.MessageView(m.id, m.chatRoom.id, s.id, CONCAT(s.firstName, ' ', s.lastName), " +
+           "m.content, m.sentAt, m.deliveredAt, m.readAt) " +
+           "FROM Message m JOIN m.sender s " +
+           "WHERE m.chatRoom.id = :chatRoomId ORDER BY m.sentAt DESC, m.id DESC")
+    List<MessageView> findViewsByChatRoomId(Long chatRoomId, Pageable pageable);
+    
+    @Query("SELECT new com.tutorconnect.dto.MessageView(m.id, m.chatRoom.id, s.id, CONCAT(s.firstName, ' ', s.lastName), " +
+           "m.content, m.sentAt, m.deliveredAt, m.readAt) " +
+           "FROM Message m JOIN m.sender s " +
+           "WHERE m.chatRoom.id = :chatRoomId AND (m.sentAt < :sentAt OR (m.sentAt = :sentAt AND m.id < :id)) " +
+           "ORDER BY m.sentAt DESC, m.id DESC")
+    List<MessageView> findViewsByChatRoomIdBefore(Long chatRoomId, LocalDateTime sentAt, Long id, Pageable pageable);
+    
+    // Oldest first, for fetching what was sent after a known message
+    @Query("SELECT new com.tutorconnect.dto.MessageView(m.id, m.chatRoom.id, s.id, CONCAT(s.firstName, ' ', s.lastName), " +
+           "m.content, m.sentAt, m.deliveredAt, m.readAt) " +
+           "FROM Message m JOIN m.sender s " +
+           "WHERE m.chatRoom.id = :chatRoomId AND (m.sentAt > :sentAt OR (m.sentAt = :sentAt AND m.id > :id)) " +
+           "ORDER BY m.sentAt ASC, m.id ASC")
+    List<MessageView> findViewsByChatRoomIdAfter(Long chatRoomId, LocalDateTime sentAt, Long id, Pageable pageable);
+    
+    // [chat room id, unread count] for every room of the user with unread messages from the other side
+    @Query("SELECT m.chatRoom.id, COUNT(m) FROM Message m " +
+           "WHERE (m.chatRoom.student.id = :userId OR m.chatRoom.tutor.id = :userId) " +
+           "AND m.sender.id <> :userId AND m.read = false " +
+           "GROUP BY m.chatRoom.id")
+    List<Object[]> countUnreadByChatRoom(Long userId);
+    
+    // Acknowledges the other participant's messages up to a message id in one statement;
+    // messages already acknowledged are not touched, so repeated acks are cheap no-ops
+    @Modifying
+    @Query("UPDATE Message m SET m.deliveredAt = :now " +
+           "WHERE m.chatRoom.id = :chatRoomId AND m.sender.id <> :readerId " +
+           "AND m.id <= :upToMessageId AND m.deliveredAt IS NULL")
+    int markDelivered(Long chatRoomId, Long readerId, Long upToMessageId, LocalDateTime now);
+    
+    // Reading implies delivery, so a message read before its delivery ack gets both timestamps
+    @Modifying
+    @Query("UPDATE Message m SET m.read = true, m.readAt = :now, m.deliveredAt = COALESCE(m.deliveredAt, :now) " +
+           "WHERE m.chatRoom.id = :chatRoomId AND m.sender.id <> :readerId " +
+           "AND m.id <= :upToMessageId AND m.read = false")
+    int markRead(Long chatRoomId, Long readerId, Long upToMessageId, LocalDateTime now);
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.tutorconnect.repository;
+
+import com.tutorconnect.model.NotificationOutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEvent, Long> {
+    
+    // Due events oldest first, locked with SKIP LOCKED so concurrent dispatchers take disjoint
+    // batches. An event is held back while an older event for the same recipient is still
+    // waiting (held by a dispatcher or backing off after a failure), which keeps each
+    // recipient's notifications in order; deferred digest events wait on their own and do not
+    // hold anything back.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM NotificationOutboxEvent e " +
+           "WHERE e.status = :status AND e.nextAttemptAt <= :now " +
+           "AND NOT EXISTS (SELECT o.id FROM NotificationOutboxEvent o WHERE o.recipientId = e.recipientId " +
+           "AND o.status = :status " +
+           "AND o.id < e.id AND o.nextAttemptAt > :now AND o.deferred = false) " +
+           "ORDER BY e.id")
+    List<NotificationOutboxEvent> findDueForUpdate(NotificationOutboxEvent.Status status, LocalDateTime now,
+                                                   Pageable pageable);
+    
+    // Per recipient, the oldest waiting event that is not part of the given batch, whatever its
+    // nextAttemptAt; this includes events another dispatcher has locked but not yet leased
+    @Query("SELECT e.recipientId, MIN(e.id) FROM NotificationOutboxEvent e " +
+           "WHERE e.recipientId IN :recipientIds AND e.id NOT IN :batchIds " +
+           "AND e.status = :status AND e.deferred = false " +
+           "GROUP BY e.recipientId")
+    List<Object[]> findFirstWaitingOutside(NotificationOutboxEvent.Status status, Collection<Long> recipientIds,
+                                           Collection<Long> batchIds);
+    
+    @Modifying
+    @Query("UPDATE NotificationOutboxEvent e SET e.nextAttemptAt = :until WHERE e.id IN :ids")
+    int lease(Collection<Long> ids, LocalDateTime until);
+    
+    @Modifying
+    @Query("DELETE FROM NotificationOutboxEvent e WHERE e.id = :id")
+    int deleteEvent(Long id);
+    
+    @Modifying
+    @Query("UPDATE NotificationOutboxEvent e SET e.attempts = :attempts, e.status = :status, " +
+           "e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError WHERE e.id = :id")
+    int recordFailure(Long id, int attempts, NotificationOutboxEvent.Status status,
+                      LocalDateTime nextAttemptAt, String lastError);
+    
+    long countByStatus(NotificationOutboxEvent.Status status);
+    
+    @Query("SELECT MIN(e.createdAt) FROM NotificationOutboxEvent e WHERE e.status = :status")
+    LocalDateTime findOldestCreatedAt(NotificationOutboxEvent.Status status);
+}
\ No newline at end of file
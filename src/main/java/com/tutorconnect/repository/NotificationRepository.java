@@ -1,9 +1,15 @@
 package com.tutorconnect.repository;
 
+import com.tutorconnect.dto.NotificationView;
 import com.tutorconnect.model.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,4 +17,77 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
     List<Notification> findByUserIdAndReadFalseOrderByCreatedAtDesc(Long userId);
     int countByUserIdAndReadFalse(Long userId);
+    List<Notification> findByUserIdAndIdGreaterThanOrderByIdDesc(Long userId, Long id, Pageable pageable);
+    
+    // Id of the unread notification a new one of the same kind is folded into, backed by
+    // idx_notifications_coalesce
+    @Query("SELECT n.id FROM Notification n WHERE n.user.id = :userId AND n.type = :type AND n.link = :link " +
+           "AND n.read = false AND n.lastOccurredAt > :since ORDER BY n.id DESC")
+    List<Long> findCoalesceTarget(Long userId, Notification.NotificationType type, String link,
+                                  LocalDateTime since, Pageable pageable);
+    
+    // Folds events into the notification only while it is still unread, so a markRead or
+    // markAllRead that committed in between is never written back; 0 means a new one is needed
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Notification n SET n.occurrences = COALESCE(n.occurrences, 1) + :occurrences, " +
+           "n.title = :title, n.message = :message, n.lastOccurredAt = :now " +
+           "WHERE n.id = :id AND n.read = false")
+    int coalesce(Long id, int occurrences, String title, String message, LocalDateTime now);
+    
+    // Both updates skip notifications that are already read, so the returned count is exactly
+    // how much the user's unread count dropped
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true, n.readAt = :now WHERE n.user.id = :userId AND n.read = false")
+    int markAllRead(Long userId, LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true, n.readAt = :now " +
+           "WHERE n.id = :id AND n.user.id = :userId AND n.read = false")
+    int markRead(Long id, Long userId, LocalDateTime now);
+    
+    // Read from the table rather than the persistence context, so it reflects a coalesce UPDATE
+    @Query("SELECT new com.tutorconnect.dto.NotificationView(n.id, n.title, n.message, n.type, n.link, n.read, " +
+           "COALESCE(n.occurrences, 1), n.createdAt, COALESCE(n.lastOccurredAt, n.createdAt)) " +
+           "FROM Notification n WHERE n.id = :id")
+    NotificationView findViewById(Long id);
+    
+    // Keyset pagination over id, backed by idx_notifications_user_id
+    @Query("SELECT new com.tutorconnect.dto.NotificationView(n.id, n.title, n.message, n.type, n.link, n.read, " +
+           "COALESCE(n.occurrences, 1), n.createdAt, COALESCE(n.lastOccurredAt, n.createdAt)) " +
+           "FROM Notification n WHERE n.user.id = :userId ORDER BY n.id DESC")
+    List<NotificationView> findViewsByUserId(Long userId, Pageable pageable);
+    
+    @Query("SELECT new com.tutorconnect.dto.NotificationView(n.id, n.title, n.message, n.type, n.link, n.read, " +
+           "COALESCE(n.occurrences, 1), n.createdAt, COALESCE(n.lastOccurredAt, n.createdAt)) " +
+           "FROM Notification n WHERE n.user.id = :userId AND n.id < :id ORDER BY n.id DESC")
+    List<NotificationView> findViewsByUserIdBefore(Long userId, Long id, Pageable pageable);
+    
+    // [id, user id, read] of the notifications of a type read before the cutoff, longest read
+    // first, from the head of idx_notifications_read_purge
+    @Query("SELECT n.id, n.user.id, n.read FROM Notification n " +
+           "WHERE n.type = :type AND n.read = true AND n.readAt < :cutoff ORDER BY n.readAt, n.id")
+    List<Object[]> findReadPurgeCandidates(Notification.NotificationType type, LocalDateTime cutoff,
+                                           Pageable pageable);
+    
+    // [id, user id, read] of the notifications of a type, read or not, that last changed before the
+    // cutoff. This is COALESCE(lastOccurredAt, createdAt) < cutoff written out, so that both
+    // branches are ranges on idx_notifications_age_purge; rows from before lastOccurredAt existed
+    // have it null.
+    @Query("SELECT n.id, n.user.id, n.read FROM Notification n WHERE n.type = :type " +
+           "AND (n.lastOccurredAt < :cutoff OR (n.lastOccurredAt IS NULL AND n.createdAt < :cutoff)) " +
+           "ORDER BY n.id")
+    List<Object[]> findAgePurgeCandidates(Notification.NotificationType type, LocalDateTime cutoff,
+                                          Pageable pageable);
+    
+    @Modifying
+    @Query(value = "INSERT INTO notifications_archive (id, user_id, title, message, read, read_at, type, created_at, " +
+                   "link, occurrences, last_occurred_at, archived_at) " +
+                   "SELECT id, user_id, title, message, read, read_at, type, created_at, link, occurrences, " +
+                   "last_occurred_at, :now FROM notifications WHERE id IN :ids",
+           nativeQuery = true)
+    int archiveByIdIn(Collection<Long> ids, LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids")
+    int deleteByIdIn(Collection<Long> ids);
 }
\ No newline at end of file
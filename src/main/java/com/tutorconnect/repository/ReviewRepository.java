@@ -1,9 +1,13 @@
 package com.tutorconnect.repository;
 
+import com.tutorconnect.dto.ReviewView;
 import com.tutorconnect.model.Review;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +16,32 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     List<Review> findByTutorIdOrderByCreatedAtDesc(Long tutorId);
     List<Review> findByStudentIdOrderByCreatedAtDesc(Long studentId);
     Optional<Review> findByBookingId(Long bookingId);
+    
+    // Keyset pagination over (createdAt, id), backed by idx_reviews_tutor_created
+    @Query("SELECT new com.tutorconnect.dto.ReviewView(r.id, r.rating, r.comment, r.createdAt, r.updatedAt, " +
+           "b.id, s.id, s.firstName, s.lastName, t.id, t.firstName, t.lastName) " +
+           "FROM Review r JOIN r.student s JOIN r.tutor t LEFT JOIN r.booking b " +
+           "WHERE r.tutor.id = :tutorId ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewView> findViewsByTutorId(Long tutorId, Pageable pageable);
+    
+    @Query("SELECT new com.tutorconnect.dto.ReviewView(r.id, r.rating, r.comment, r.createdAt, r.updatedAt, " +
+           "b.id, s.id, s.firstName, s.lastName, t.id, t.firstName, t.lastName) " +
+           "FROM Review r JOIN r.student s JOIN r.tutor t LEFT JOIN r.booking b " +
+           "WHERE r.tutor.id = :tutorId AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewView> findViewsByTutorIdBefore(Long tutorId, LocalDateTime createdAt, Long id, Pageable pageable);
+    
+    // Keyset pagination over (createdAt, id), backed by idx_reviews_student_created
+    @Query("SELECT new com.tutorconnect.dto.ReviewView(r.id, r.rating, r.comment, r.createdAt, r.updatedAt, " +
+           "b.id, s.id, s.firstName, s.lastName, t.id, t.firstName, t.lastName) " +
+           "FROM Review r JOIN r.student s JOIN r.tutor t LEFT JOIN r.booking b " +
+           "WHERE r.student.id = :studentId ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewView> findViewsByStudentId(Long studentId, Pageable pageable);
+    
+    @Query("SELECT new com.tutorconnect.dto.ReviewView(r.id, r.rating, r.comment, r.createdAt, r.updatedAt, " +
+           "b.id, s.id, s.firstName, s.lastName, t.id, t.firstName, t.lastName) " +
+           "FROM Review r JOIN r.student s JOIN r.tutor t LEFT JOIN r.booking b " +
+           "WHERE r.student.id = :studentId AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewView> findViewsByStudentIdBefore(Long studentId, LocalDateTime createdAt, Long id, Pageable pageable);
 }
\ No newline at end of file
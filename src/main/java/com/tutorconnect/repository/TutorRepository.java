@@ -1,10 +1,14 @@
 package com.tutorconnect.repository;
 
+import com.tutorconnect.dto.TutorCard;
+import com.tutorconnect.dto.TutorSubjectRow;
 import com.tutorconnect.model.Tutor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -24,4 +28,37 @@ public interface TutorRepository extends JpaRepository<Tutor, Long> {
            "OR LOWER(t.lastName) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
            "OR LOWER(t.bio) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Tutor> findByKeyword(String keyword);
+    
+    @Query("SELECT DISTINCT t FROM Tutor t LEFT JOIN FETCH t.subjects")
+    List<Tutor> findAllWithSubjects();
+    
+    @Query("SELECT DISTINCT t FROM Tutor t LEFT JOIN FETCH t.subjects WHERE t.id IN :ids")
+    List<Tutor> findAllWithSubjectsByIdIn(Collection<Long> ids);
+    
+    // Keyset pagination over (averageRating, id), backed by idx_tutors_rating_id. Rated and
+    // unrated tutors are separate queries, unrated last: the query parser rejects NULLS LAST.
+    @Query("SELECT new com.tutorconnect.dto.TutorCard(t.id, t.firstName, t.lastName, t.title, t.bio, " +
+           "t.hourlyRate, t.yearsOfExperience, t.averageRating, t.totalReviews, t.profilePictureUrl) " +
+           "FROM Tutor t WHERE t.averageRating IS NOT NULL ORDER BY t.averageRating DESC, t.id DESC")
+    List<TutorCard> findRatedCards(Pageable pageable);
+    
+    @Query("SELECT new com.tutorconnect.dto.TutorCard(t.id, t.firstName, t.lastName, t.title, t.bio, " +
+           "t.hourlyRate, t.yearsOfExperience, t.averageRating, t.totalReviews, t.profilePictureUrl) " +
+           "FROM Tutor t WHERE t.averageRating < :rating OR (t.averageRating = :rating AND t.id < :id) " +
+           "ORDER BY t.averageRating DESC, t.id DESC")
+    List<TutorCard> findRatedCardsAfter(Double rating, Long id, Pageable pageable);
+    
+    @Query("SELECT new com.tutorconnect.dto.TutorCard(t.id, t.firstName, t.lastName, t.title, t.bio, " +
+           "t.hourlyRate, t.yearsOfExperience, t.averageRating, t.totalReviews, t.profilePictureUrl) " +
+           "FROM Tutor t WHERE t.averageRating IS NULL ORDER BY t.id DESC")
+    List<TutorCard> findUnratedCards(Pageable pageable);
+    
+    @Query("SELECT new com.tutorconnect.dto.TutorCard(t.id, t.firstName, t.lastName, t.title, t.bio, " +
+           "t.hourlyRate, t.yearsOfExperience, t.averageRating, t.totalReviews, t.profilePictureUrl) " +
+           "FROM Tutor t WHERE t.averageRating IS NULL AND t.id < :id ORDER BY t.id DESC")
+    List<TutorCard> findUnratedCardsAfter(Long id, Pageable pageable);
+    
+    @Query("SELECT new com.tutorconnect.dto.TutorSubjectRow(t.id, s.id, s.name) " +
+           "FROM Tutor t JOIN t.subjects s WHERE t.id IN :tutorIds")
+    List<TutorSubjectRow> findSubjectRowsByTutorIdIn(Collection<Long> tutorIds);
 }
\ No newline at end of file
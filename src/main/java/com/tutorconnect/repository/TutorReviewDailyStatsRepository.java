@@ -0,0 +1,18 @@
+package com.tutorconnect.repository;
+
+import com.tutorconnect.model.TutorReviewDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TutorReviewDailyStatsRepository extends JpaRepository<TutorReviewDailyStats, Long> {
+    
+    // [ratingSum, reviewCount] over the days since the given date, read through uk_review_daily_tutor_date
+    @Query("SELECT COALESCE(SUM(d.ratingSum), 0), COALESCE(SUM(d.reviewCount), 0) FROM TutorReviewDailyStats d " +
+           "WHERE d.tutorId = :tutorId AND d.reviewDate >= :since")
+    List<Object[]> sumSince(Long tutorId, LocalDate since);
+}
\ No newline at end of file
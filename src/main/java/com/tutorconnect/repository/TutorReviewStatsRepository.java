@@ -0,0 +1,9 @@
+package com.tutorconnect.repository;
+
+import com.tutorconnect.model.TutorReviewStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TutorReviewStatsRepository extends JpaRepository<TutorReviewStats, Long> {
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.tutorconnect.repository;
+
+import com.tutorconnect.model.TutorSchedule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TutorScheduleRepository extends JpaRepository<TutorSchedule, Long> {
+    List<TutorSchedule> findByTutorId(Long tutorId);
+    List<TutorSchedule> findByTutorIdAndAvailableTrue(Long tutorId);
+    
+    // [tutor id, day of week, start time, end time] of every available window
+    @Query("SELECT s.tutor.id, s.dayOfWeek, s.startTime, s.endTime FROM TutorSchedule s WHERE s.available = true")
+    List<Object[]> findAvailableWindows();
+    
+    @Query("SELECT s.tutor.id, s.dayOfWeek, s.startTime, s.endTime FROM TutorSchedule s " +
+           "WHERE s.available = true AND s.tutor.id = :tutorId")
+    List<Object[]> findAvailableWindowsByTutorId(Long tutorId);
+}
\ No newline at end of file
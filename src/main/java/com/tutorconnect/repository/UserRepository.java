@@ -2,12 +2,29 @@ package com.tutorconnect.repository;
 
 import com.tutorconnect.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+    Optional<User> findByCalendarToken(String calendarToken);
+    
+    // [email, tokens not before] of users whose cutoff may still reject unexpired tokens
+    @Query("SELECT u.email, u.tokensNotBefore FROM User u WHERE u.tokensNotBefore > :since")
+    List<Object[]> findTokenCutoffsAfter(LocalDateTime since);
+    
+    @Query("SELECT u.tokensNotBefore FROM User u WHERE u.email = :email")
+    Optional<LocalDateTime> findTokensNotBeforeByEmail(String email);
+    
+    // The only way the cutoff changes, since the column is left out of entity inserts and updates
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.tokensNotBefore = :notBefore WHERE u.email = :email")
+    int updateTokensNotBefore(String email, LocalDateTime notBefore);
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.tutorconnect.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Authentications resolved from tokens that passed verification, keyed by the SHA-256 of the
+// token so raw tokens are never held. An entry lives for the configured TTL but never past the
+// token's own expiry; entries of a user are dropped when the account changes. The token id and
+// issue time are kept so revocation can still be checked on a hit.
+@Component
+public class JwtAuthenticationCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${jwt.auth-cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    @Value("${jwt.auth-cache.max-entries:10000}")
+    private int maxEntries;
+
+    public Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    public void put(String key, Authentication authentication, Claims claims) {
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        long expiresAt = Math.min(System.currentTimeMillis() + ttlMs, claims.getExpiration().getTime());
+        long issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0;
+        entries.put(key, new Entry(authentication, claims.getId(), issuedAt, expiresAt));
+    }
+
+    public void invalidate(String key) {
+        entries.remove(key);
+    }
+
+    // Drops every cached authentication of the user, e.g. after a password change or when the
+    // account is deactivated or deleted
+    public void invalidateUser(String username) {
+        entries.values().removeIf(entry -> username.equals(entry.authentication.getName()));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public static String keyOf(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Expired entries go first; if the cache is still full an arbitrary tenth of it is dropped,
+    // which only costs those tokens one more verification
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+
+        int toRemove = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (toRemove > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            toRemove--;
+        }
+    }
+
+    public record Entry(Authentication authentication, String tokenId, long issuedAt, long expiresAt) {
+    }
+}
\ No newline at end of file
@@ -12,6 +12,11 @@ import java.io.IOException;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // EventSource cannot set headers, so the notification stream also accepts a stream ticket
+    // from POST /api/notifications/stream-ticket in this query parameter
+    static final String STREAM_PATH = "/api/notifications/stream";
+    static final String STREAM_TICKET_PARAM = "ticket";
+
     private final JwtTokenProvider jwtTokenProvider;
 
     public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
@@ -22,21 +27,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         
-        String token = resolveToken(request);
+        String token = JwtTokenProvider.resolveBearerToken(request.getHeader("Authorization"));
+        String ticket = STREAM_PATH.equals(request.getServletPath()) ? request.getParameter(STREAM_TICKET_PARAM) : null;
         
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            Authentication auth = jwtTokenProvider.getAuthentication(token);
+        Authentication auth = null;
+        if (token != null) {
+            auth = jwtTokenProvider.authenticate(token);
+        } else if (ticket != null) {
+            auth = jwtTokenProvider.authenticateStreamTicket(ticket);
+        }
+        if (auth != null) {
             SecurityContextHolder.getContext().setAuthentication(auth);
         }
         
         filterChain.doFilter(request, response);
     }
-
-    private String resolveToken(HttpServletRequest request) {
-        String bearerToken = request.getHeader("Authorization");
-        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
-        }
-        return null;
-    }
 }
\ No newline at end of file
@@ -14,23 +14,39 @@ import org.springframework.stereotype.Component;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    // Set only on stream tickets, which are accepted nowhere else
+    private static final String SCOPE_CLAIM = "scope";
+    private static final String STREAM_SCOPE = "stream";
+
     @Value("${jwt.secret}")
     private String secretKey;
     
     @Value("${jwt.expiration}")
     private long validityInMilliseconds;
     
+    @Value("${jwt.stream-ticket.validity-ms:60000}")
+    private long streamTicketValidityInMilliseconds;
+    
     private final UserDetailsService userDetailsService;
+    private final JwtAuthenticationCache authenticationCache;
+    private final TokenRevocationService tokenRevocationService;
     private Key key;
+    
+    // Thread-safe once built, so all requests share it
+    private JwtParser parser;
 
     @PostConstruct
     protected void init() {
         this.key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
     }
 
     public String createToken(String username, String role) {
@@ -42,36 +58,116 @@ public class JwtTokenProvider {
         
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(now)
                 .setExpiration(validity)
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    // A short-lived token that opens the notification stream and nothing else. EventSource cannot
+    // send an Authorization header, so the ticket travels in the query string, where a full token
+    // would end up in access logs and browser history.
+    public String createStreamTicket(String username) {
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject(username)
+                .claim(SCOPE_CLAIM, STREAM_SCOPE)
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + streamTicketValidityInMilliseconds))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    // Resolves the authentication for a stream ticket, or null if it is not a valid one. Not
+    // cached: a ticket opens a single long-lived stream, plus the occasional reconnect.
+    public Authentication authenticateStreamTicket(String ticket) {
+        Claims claims = verify(ticket);
+        if (claims == null || !STREAM_SCOPE.equals(claims.get(SCOPE_CLAIM)) || isRevoked(claims)) {
+            return null;
+        }
+        return getAuthentication(claims);
+    }
+
     public boolean validateToken(String token) {
-        try {
-            Jws<Claims> claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token);
-            
-            return !claims.getBody().getExpiration().before(new Date());
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+        return parseClaims(token) != null;
+    }
+
+    // Verifies the token once and returns its claims, or null if it is invalid, expired, revoked
+    // or a stream ticket
+    public Claims parseClaims(String token) {
+        Claims claims = verify(token);
+        return claims != null && claims.get(SCOPE_CLAIM) == null && !isRevoked(claims) ? claims : null;
+    }
+
+    // Revokes a single token, e.g. on logout. Invalid tokens need no revocation; tokens issued
+    // without a jti can only be cut off with revokeAllForUser.
+    public void revoke(String token) {
+        Claims claims = verify(token);
+        if (claims == null || claims.getId() == null) {
+            return;
         }
+        tokenRevocationService.revoke(claims.getId(), claims.getExpiration());
+        authenticationCache.invalidate(JwtAuthenticationCache.keyOf(token));
+    }
+
+    public static String resolveBearerToken(String authorizationHeader) {
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+            return authorizationHeader.substring(7);
+        }
+        return null;
+    }
+
+    // Resolves the authentication for a request token, or null if the token is not valid. Tokens
+    // seen recently are answered from the cache without verifying the signature or loading the
+    // user again, but are still checked for revocation.
+    public Authentication authenticate(String token) {
+        String cacheKey = JwtAuthenticationCache.keyOf(token);
+        JwtAuthenticationCache.Entry cached = authenticationCache.get(cacheKey);
+        if (cached != null) {
+            if (tokenRevocationService.isRevoked(cached.tokenId(), cached.authentication().getName(), cached.issuedAt())) {
+                authenticationCache.invalidate(cacheKey);
+                return null;
+            }
+            return cached.authentication();
+        }
+        
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            return null;
+        }
+        Authentication authentication = getAuthentication(claims);
+        authenticationCache.put(cacheKey, authentication, claims);
+        return authentication;
     }
 
     public Authentication getAuthentication(String token) {
-        UserDetails userDetails = userDetailsService.loadUserByUsername(getUsername(token));
-        return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
+        return getAuthentication(parser.parseClaimsJws(token).getBody());
     }
 
     public String getUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
+        return parser.parseClaimsJws(token)
                 .getBody()
                 .getSubject();
     }
+
+    private Claims verify(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            return claims.getExpiration() != null && !claims.getExpiration().before(new Date()) ? claims : null;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private boolean isRevoked(Claims claims) {
+        long issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0;
+        return tokenRevocationService.isRevoked(claims.getId(), claims.getSubject(), issuedAt);
+    }
+
+    private Authentication getAuthentication(Claims claims) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
+    }
 }
\ No newline at end of file
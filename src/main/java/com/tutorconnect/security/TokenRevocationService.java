@@ -0,0 +1,179 @@
+package com.tutorconnect.security;
+
+import com.tutorconnect.model.RevokedToken;
+import com.tutorconnect.repository.RevokedTokenRepository;
+import com.tutorconnect.repository.UserRepository;
+import com.tutorconnect.service.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Revoked tokens, by jti, and per-user cutoffs before which all of a user's tokens are rejected.
+// Every authenticated request is checked, so the jtis are mirrored in a Bloom filter and only a
+// filter hit costs a database lookup; the cutoffs are few and kept in memory. Both are reloaded
+// periodically, which is also how revocations made on other nodes arrive here: a revocation
+// takes effect at once on the node that made it and within jwt.revocation.refresh-ms on the
+// others.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtAuthenticationCache authenticationCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${jwt.expiration}")
+    private long validityInMilliseconds;
+
+    @Value("${jwt.revocation.expected-revocations:100000}")
+    private int expectedRevocations;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private final Object reloadLock = new Object();
+
+    // The startup load and the scheduled reload may overlap; one reload runs at a time
+    private final ReentrantLock reloading = new ReentrantLock();
+
+    private volatile BloomFilter revokedIds;
+
+    // email -> epoch millis; tokens issued before it are rejected
+    private volatile Map<String, Long> notBefore = new ConcurrentHashMap<>();
+
+    // Revocations committed while a reload is reading the tables, replayed onto the reloaded state
+    private List<String> idsDuringReload;
+    private Map<String, Long> cutoffsDuringReload;
+
+    // Until the first load, checks go to the database
+    private volatile boolean loaded = false;
+
+    public boolean isRevoked(String tokenId, String username, long issuedAt) {
+        if (!loaded) {
+            Optional<LocalDateTime> cutoff = userRepository.findTokensNotBeforeByEmail(username);
+            return (cutoff.isPresent() && issuedAt < toMillis(cutoff.get()))
+                    || (tokenId != null && revokedTokenRepository.existsByJti(tokenId));
+        }
+
+        Long cutoff = notBefore.get(username);
+        if (cutoff != null && issuedAt < cutoff) {
+            return true;
+        }
+        return tokenId != null && revokedIds.mightContain(tokenId) && revokedTokenRepository.existsByJti(tokenId);
+    }
+
+    // The row lives until the token expires; after that the token is rejected anyway
+    @Transactional
+    public void revoke(String tokenId, Date expiresAt) {
+        if (revokedTokenRepository.existsByJti(tokenId)) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(tokenId,
+                LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault())));
+        TransactionHooks.afterCommit(() -> recordRevokedId(tokenId));
+    }
+
+    // Rejects every token issued to the user up to now. The iat claim only has second precision,
+    // so a token issued earlier in the current second carries the same iat as one issued later in
+    // it; the cutoff is rounded up to the next second, and tokens with iat < cutoff are rejected.
+    // A login in the remainder of this second is rejected too and has to be repeated.
+    @Transactional
+    public void revokeAllForUser(String email) {
+        LocalDateTime cutoff = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        userRepository.updateTokensNotBefore(email, cutoff);
+        TransactionHooks.afterCommit(() -> {
+            recordCutoff(email, toMillis(cutoff));
+            authenticationCache.invalidateUser(email);
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    // Purges expired revocations and rebuilds the filter from the remaining ones, which is also
+    // the only way entries leave it
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-ms:60000}")
+    public void reload() {
+        reloading.lock();
+        try {
+            rebuild();
+        } finally {
+            reloading.unlock();
+        }
+    }
+
+    private void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer purged = transactionTemplate.execute(status -> revokedTokenRepository.deleteExpired(now));
+
+        synchronized (reloadLock) {
+            idsDuringReload = new ArrayList<>();
+            cutoffsDuringReload = new HashMap<>();
+        }
+
+        List<String> ids = revokedTokenRepository.findActiveJtis(now);
+        BloomFilter filter = new BloomFilter(Math.max(expectedRevocations, ids.size() * 2), falsePositiveRate);
+        ids.forEach(filter::add);
+
+        // A cutoff older than the token lifetime cannot reject any token still in use
+        Map<String, Long> cutoffs = new ConcurrentHashMap<>();
+        for (Object[] row : userRepository.findTokenCutoffsAfter(now.minus(validityInMilliseconds, ChronoUnit.MILLIS))) {
+            cutoffs.put((String) row[0], toMillis((LocalDateTime) row[1]));
+        }
+
+        synchronized (reloadLock) {
+            idsDuringReload.forEach(filter::add);
+            cutoffsDuringReload.forEach((email, cutoff) -> cutoffs.merge(email, cutoff, Math::max));
+            idsDuringReload = null;
+            cutoffsDuringReload = null;
+            revokedIds = filter;
+            notBefore = cutoffs;
+            loaded = true;
+        }
+
+        if (purged != null && purged > 0) {
+            log.info("Purged {} expired token revocations", purged);
+        }
+    }
+
+    private void recordRevokedId(String tokenId) {
+        synchronized (reloadLock) {
+            if (revokedIds != null) {
+                revokedIds.add(tokenId);
+            }
+            if (idsDuringReload != null) {
+                idsDuringReload.add(tokenId);
+            }
+        }
+    }
+
+    private void recordCutoff(String email, long cutoff) {
+        synchronized (reloadLock) {
+            notBefore.merge(email, cutoff, Math::max);
+            if (cutoffsDuringReload != null) {
+                cutoffsDuringReload.merge(email, cutoff, Math::max);
+            }
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,265 @@
+package com.tutorconnect.service;
+
+import com.tutorconnect.dto.SeriesOccurrence;
+import com.tutorconnect.dto.TimeSlot;
+import com.tutorconnect.model.*;
+import com.tutorconnect.repository.BookingSeriesCancellationRepository;
+import com.tutorconnect.repository.BookingSeriesRepository;
+import com.tutorconnect.repository.StudentRepository;
+import com.tutorconnect.repository.SubjectRepository;
+import com.tutorconnect.repository.TutorRepository;
+import com.tutorconnect.service.availability.AvailabilityService;
+import com.tutorconnect.service.availability.Recurrence;
+import com.tutorconnect.service.availability.TutorBookingLocks;
+import com.tutorconnect.service.notification.NotificationOutbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+public class BookingSeriesService {
+    
+    private static final int MAX_OCCURRENCES = 104;
+    private static final Duration MAX_WINDOW = Duration.ofDays(366);
+    
+    private final BookingSeriesRepository bookingSeriesRepository;
+    private final BookingSeriesCancellationRepository bookingSeriesCancellationRepository;
+    private final StudentRepository studentRepository;
+    private final TutorRepository tutorRepository;
+    private final SubjectRepository subjectRepository;
+    private final NotificationOutbox notificationOutbox;
+    private final AvailabilityService availabilityService;
+    private final TutorBookingLocks tutorBookingLocks;
+    
+    public Optional<BookingSeries> findSeriesById(Long id) {
+        return bookingSeriesRepository.findById(id);
+    }
+    
+    @Transactional
+    public BookingSeries createSeries(Long studentId, Long tutorId, Long subjectId, LocalDateTime firstStartTime,
+                                      int durationMinutes, int intervalWeeks, LocalDate endDate, String notes) {
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new RuntimeException("Student not found"));
+        Tutor tutor = tutorRepository.findById(tutorId)
+                .orElseThrow(() -> new RuntimeException("Tutor not found"));
+        Subject subject = subjectRepository.findById(subjectId)
+                .orElseThrow(() -> new RuntimeException("Subject not found"));
+        
+        BookingSeries series = new BookingSeries(student, tutor, subject, firstStartTime, durationMinutes, intervalWeeks, endDate);
+        series.setNotes(notes);
+        return createSeries(series);
+    }
+    
+    @Transactional
+    public BookingSeries createSeries(BookingSeries series) {
+        if (series.getDurationMinutes() <= 0 || series.getIntervalWeeks() < 1) {
+            throw new RuntimeException("Invalid recurrence");
+        }
+        if (!series.getFirstStartTime().isAfter(LocalDateTime.now())
+                || series.getEndDate().isBefore(series.getFirstStartTime().toLocalDate())) {
+            throw new RuntimeException("Invalid time range");
+        }
+        
+        Recurrence recurrence = Recurrence.of(series, Set.of());
+        if (recurrence.allOccurrences().size() > MAX_OCCURRENCES) {
+            throw new RuntimeException("A booking series can have at most " + MAX_OCCURRENCES + " occurrences");
+        }
+        
+        tutorBookingLocks.lockUntilCompletion(series.getTutor().getId());
+        if (availabilityService.hasConflict(series.getTutor().getId(), recurrence)) {
+            throw new RuntimeException("Booking series conflicts with an existing booking");
+        }
+        
+        BookingSeries savedSeries = bookingSeriesRepository.save(series);
+        TransactionHooks.afterCommit(() -> availabilityService.seriesChanged(savedSeries, Set.of()));
+        
+        notificationOutbox.enqueue(
+                series.getTutor(),
+                "New Recurring Booking Request",
+                "You have a new weekly booking request from " + series.getStudent().getFullName(),
+                Notification.NotificationType.BOOKING_REQUEST,
+                "/tutor/booking-series/" + savedSeries.getId());
+        
+        return savedSeries;
+    }
+    
+    @Transactional
+    public BookingSeries confirmSeries(Long id, User tutor) {
+        BookingSeries series = findForUpdate(id, tutor);
+        if (series.getStatus() != Booking.BookingStatus.PENDING) {
+            throw new RuntimeException("Cannot change status from " + series.getStatus() + " to CONFIRMED");
+        }
+        series.confirm();
+        BookingSeries savedSeries = save(series);
+        
+        notificationOutbox.enqueue(
+                series.getStudent(),
+                "Booking Series Confirmed",
+                "Your weekly booking with " + series.getTutor().getFullName() + " has been confirmed.",
+                Notification.NotificationType.BOOKING_CONFIRMATION,
+                "/student/booking-series/" + savedSeries.getId());
+        
+        return savedSeries;
+    }
+    
+    @Transactional
+    public BookingSeries rejectSeries(Long id, User tutor) {
+        BookingSeries series = findForUpdate(id, tutor);
+        if (series.getStatus() != Booking.BookingStatus.PENDING) {
+            throw new RuntimeException("Cannot change status from " + series.getStatus() + " to REJECTED");
+        }
+        series.reject();
+        BookingSeries savedSeries = save(series);
+        
+        notificationOutbox.enqueue(
+                series.getStudent(),
+                "Booking Series Rejected",
+                "Your weekly booking with " + series.getTutor().getFullName() + " has been rejected.",
+                Notification.NotificationType.BOOKING_CANCELLATION,
+                "/student/booking-series/" + savedSeries.getId());
+        
+        return savedSeries;
+    }
+    
+    @Transactional
+    public BookingSeries cancelSeries(Long id, User canceller) {
+        BookingSeries series = findActiveForUpdate(id, canceller);
+        series.cancel();
+        BookingSeries savedSeries = save(series);
+        notifyCancelled(savedSeries, canceller, "Your weekly booking with " + canceller.getFullName() + " has been cancelled.");
+        return savedSeries;
+    }
+    
+    // Cancels one upcoming occurrence by recording its date. Saving the series only bumps its
+    // updatedAt, which the calendar feed's ETag relies on to notice the cancellation.
+    @Transactional
+    public BookingSeries cancelOccurrence(Long id, LocalDate date, User canceller) {
+        if (date.isBefore(LocalDate.now())) {
+            throw new RuntimeException("Past occurrences cannot be cancelled");
+        }
+        BookingSeries series = findActiveForUpdate(id, canceller);
+        if (!Recurrence.of(series, Set.of()).isOccurrenceDate(date)) {
+            throw new RuntimeException("No occurrence on " + date);
+        }
+        if (!bookingSeriesCancellationRepository.existsBySeriesIdAndOccurrenceDate(id, date)) {
+            bookingSeriesCancellationRepository.save(new BookingSeriesCancellation(series, date, canceller));
+        }
+        BookingSeries savedSeries = save(series);
+        notifyCancelled(savedSeries, canceller,
+                "Your session on " + date + " with " + canceller.getFullName() + " has been cancelled.");
+        return savedSeries;
+    }
+    
+    // Cancels the occurrences on and after the given day by moving the series' end date
+    @Transactional
+    public BookingSeries cancelFrom(Long id, LocalDate date, User canceller) {
+        BookingSeries series = findActiveForUpdate(id, canceller);
+        series.endBefore(date);
+        BookingSeries savedSeries = save(series);
+        notifyCancelled(savedSeries, canceller,
+                "Your weekly booking with " + canceller.getFullName() + " has been cancelled from " + date + " on.");
+        return savedSeries;
+    }
+    
+    public List<SeriesOccurrence> findOccurrencesByStudentId(Long studentId, LocalDateTime from, LocalDateTime to) {
+        checkWindow(from, to);
+        return expand(bookingSeriesRepository.findByStudentIdInWindow(
+                studentId, AvailabilityService.ACTIVE_STATUSES, from.toLocalDate(), to), from, to);
+    }
+    
+    public List<SeriesOccurrence> findOccurrencesByTutorId(Long tutorId, LocalDateTime from, LocalDateTime to) {
+        checkWindow(from, to);
+        return expand(bookingSeriesRepository.findByTutorIdInWindow(
+                tutorId, AvailabilityService.ACTIVE_STATUSES, from.toLocalDate(), to), from, to);
+    }
+    
+    private List<SeriesOccurrence> expand(List<BookingSeries> series, LocalDateTime from, LocalDateTime to) {
+        if (series.isEmpty()) {
+            return List.of();
+        }
+        
+        List<Object[]> cancellations = bookingSeriesCancellationRepository.findDatesBySeriesIdIn(
+                series.stream().map(BookingSeries::getId).toList());
+        List<Recurrence> recurrences = Recurrence.ofAll(series, cancellations);
+        
+        List<SeriesOccurrence> occurrences = new ArrayList<>();
+        for (int i = 0; i < series.size(); i++) {
+            BookingSeries one = series.get(i);
+            for (TimeSlot slot : recurrences.get(i).occurrences(from, to)) {
+                occurrences.add(new SeriesOccurrence(
+                        one.getId(),
+                        slot.getStart(),
+                        slot.getEnd(),
+                        one.getStatus(),
+                        one.getTutor().getId(),
+                        one.getTutor().getFullName(),
+                        one.getStudent().getId(),
+                        one.getStudent().getFullName(),
+                        one.getSubject().getId(),
+                        one.getSubject().getName()));
+            }
+        }
+        occurrences.sort(Comparator.comparing(SeriesOccurrence::getStartTime));
+        return occurrences;
+    }
+    
+    private BookingSeries save(BookingSeries series) {
+        series.setUpdatedAt(LocalDateTime.now());
+        BookingSeries savedSeries = bookingSeriesRepository.save(series);
+        Set<LocalDate> cancelledDates = new HashSet<>();
+        for (Object[] row : bookingSeriesCancellationRepository.findDatesBySeriesIdIn(List.of(savedSeries.getId()))) {
+            cancelledDates.add((LocalDate) row[1]);
+        }
+        TransactionHooks.afterCommit(() -> availabilityService.seriesChanged(savedSeries, cancelledDates));
+        return savedSeries;
+    }
+    
+    // Only the series' tutor (or an admin) may confirm or reject it
+    private BookingSeries findForUpdate(Long id, User tutor) {
+        BookingSeries series = bookingSeriesRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Booking series not found"));
+        if (!tutor.isAdmin() && !series.getTutor().getId().equals(tutor.getId())) {
+            throw new RuntimeException("Not allowed");
+        }
+        return series;
+    }
+    
+    private BookingSeries findActiveForUpdate(Long id, User canceller) {
+        BookingSeries series = bookingSeriesRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Booking series not found"));
+        if (!canceller.isAdmin()
+                && !series.getTutor().getId().equals(canceller.getId())
+                && !series.getStudent().getId().equals(canceller.getId())) {
+            throw new RuntimeException("Not allowed");
+        }
+        if (!AvailabilityService.ACTIVE_STATUSES.contains(series.getStatus())) {
+            throw new RuntimeException("Booking series is no longer active");
+        }
+        return series;
+    }
+    
+    private void notifyCancelled(BookingSeries series, User canceller, String message) {
+        boolean byStudent = series.getStudent().getId().equals(canceller.getId());
+        notificationOutbox.enqueue(
+                byStudent ? series.getTutor() : series.getStudent(),
+                "Booking Cancelled",
+                message,
+                Notification.NotificationType.BOOKING_CANCELLATION,
+                (byStudent ? "/tutor/booking-series/" : "/student/booking-series/") + series.getId());
+    }
+    
+    private static void checkWindow(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new RuntimeException("Invalid time range");
+        }
+        if (Duration.between(from, to).compareTo(MAX_WINDOW) > 0) {
+            throw new RuntimeException("Time range must not exceed one year");
+        }
+    }
+}
\ No newline at end of file
@@ -1,21 +1,33 @@
 package com.tutorconnect.service;
 
+import com.tutorconnect.dto.BookingTransitionRow;
+import com.tutorconnect.dto.BulkTransitionResult;
 import com.tutorconnect.model.*;
 import com.tutorconnect.repository.BookingRepository;
+import com.tutorconnect.repository.UserRepository;
+import com.tutorconnect.service.availability.AvailabilityService;
+import com.tutorconnect.service.availability.TutorBookingLocks;
+import com.tutorconnect.service.notification.NotificationOutbox;
+import com.tutorconnect.service.reminder.SessionReminderService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class BookingService {
     
+    private static final int MAX_BULK_SIZE = 500;
+    
     private final BookingRepository bookingRepository;
-    private final NotificationService notificationService;
+    private final UserRepository userRepository;
+    private final NotificationOutbox notificationOutbox;
+    private final AvailabilityService availabilityService;
+    private final TutorBookingLocks tutorBookingLocks;
+    private final SessionReminderService sessionReminderService;
     
     public List<Booking> findAllBookings() {
         return bookingRepository.findAll();
@@ -47,10 +59,22 @@ public class BookingService {
     
     @Transactional
     public Booking createBooking(Booking booking) {
+        if (!booking.getStartTime().isBefore(booking.getEndTime())) {
+            throw new RuntimeException("Booking must end after it starts");
+        }
+        
+        // Held until commit, so a concurrent request for this tutor only checks for conflicts
+        // once this booking is visible
+        tutorBookingLocks.lockUntilCompletion(booking.getTutor().getId());
+        if (availabilityService.hasConflict(booking.getTutor().getId(), booking.getStartTime(), booking.getEndTime())) {
+            throw new RuntimeException("Booking conflicts with an existing booking");
+        }
+        
         Booking savedBooking = bookingRepository.save(booking);
+        TransactionHooks.afterCommit(() -> bookingChanged(savedBooking));
         
         // Send notifications
-        notificationService.createNotification(
+        notificationOutbox.enqueue(
                 booking.getTutor(), 
                 "New Booking Request", 
                 "You have a new booking request from " + booking.getStudent().getFullName(), 
@@ -66,9 +90,10 @@ public class BookingService {
             booking.confirm();
             booking.setUpdatedAt(LocalDateTime.now());
             Booking savedBooking = bookingRepository.save(booking);
+            TransactionHooks.afterCommit(() -> bookingChanged(savedBooking));
             
             // Send notification to student
-            notificationService.createNotification(
+            notificationOutbox.enqueue(
                     booking.getStudent(),
                     "Booking Confirmed",
                     "Your booking with " + booking.getTutor().getFullName() + " has been confirmed.",
@@ -84,7 +109,9 @@ public class BookingService {
         return bookingRepository.findById(id).map(booking -> {
             booking.complete();
             booking.setUpdatedAt(LocalDateTime.now());
-            return bookingRepository.save(booking);
+            Booking savedBooking = bookingRepository.save(booking);
+            TransactionHooks.afterCommit(() -> bookingChanged(savedBooking));
+            return savedBooking;
         }).orElseThrow(() -> new RuntimeException("Booking not found"));
     }
     
@@ -94,12 +121,13 @@ public class BookingService {
             booking.cancel();
             booking.setUpdatedAt(LocalDateTime.now());
             Booking savedBooking = bookingRepository.save(booking);
+            TransactionHooks.afterCommit(() -> bookingChanged(savedBooking));
             
             // Determine who to notify
             User recipient = canceller.isStudent() ? booking.getTutor() : booking.getStudent();
             
             // Send notification
-            notificationService.createNotification(
+            notificationOutbox.enqueue(
                     recipient,
                     "Booking Cancelled",
                     "Your booking with " + canceller.getFullName() + " has been cancelled.",
@@ -116,9 +144,10 @@ public class BookingService {
             booking.reject();
             booking.setUpdatedAt(LocalDateTime.now());
             Booking savedBooking = bookingRepository.save(booking);
+            TransactionHooks.afterCommit(() -> bookingChanged(savedBooking));
             
             // Send notification to student
-            notificationService.createNotification(
+            notificationOutbox.enqueue(
                     booking.getStudent(),
                     "Booking Rejected",
                     "Your booking with " + booking.getTutor().getFullName() + " has been rejected.",
@@ -137,4 +166,116 @@ public class BookingService {
             return bookingRepository.save(booking);
         }).orElseThrow(() -> new RuntimeException("Booking not found"));
     }
+    
+    // Moves many bookings to one status with a single UPDATE and one batch of notifications.
+    // Bookings the actor may not change or that cannot make the transition are skipped and
+    // reported rather than failing the whole batch. The bookings are locked before their statuses
+    // are read, so exactly the ones found valid are updated.
+    @Transactional
+    public BulkTransitionResult transitionBookings(Collection<Long> bookingIds, Booking.BookingStatus target, User actor) {
+        if (bookingIds.size() > MAX_BULK_SIZE) {
+            throw new RuntimeException("At most " + MAX_BULK_SIZE + " bookings can be changed at once");
+        }
+        
+        Set<Long> requested = new LinkedHashSet<>(bookingIds);
+        Map<Long, String> skipped = new LinkedHashMap<>();
+        Map<Long, BookingTransitionRow> valid = new LinkedHashMap<>();
+        
+        Map<Long, BookingTransitionRow> rows = new HashMap<>();
+        if (!requested.isEmpty()) {
+            bookingRepository.lockByIdIn(requested);
+            for (BookingTransitionRow row : bookingRepository.findTransitionRowsByIdIn(requested)) {
+                rows.put(row.getId(), row);
+            }
+        }
+        for (Long id : requested) {
+            BookingTransitionRow row = rows.get(id);
+            if (row == null) {
+                skipped.put(id, "Booking not found");
+            } else if (!mayTransition(actor, row, target)) {
+                skipped.put(id, "Not allowed");
+            } else if (!row.getStatus().canTransitionTo(target)) {
+                skipped.put(id, "Cannot change status from " + row.getStatus() + " to " + target);
+            } else {
+                valid.put(id, row);
+            }
+        }
+        
+        if (valid.isEmpty()) {
+            return new BulkTransitionResult(target, List.of(), skipped);
+        }
+        
+        int updated = bookingRepository.updateStatus(
+                valid.keySet(), target, Booking.BookingStatus.sourcesOf(target), LocalDateTime.now());
+        if (updated != valid.size()) {
+            // Cannot happen while the rows are locked; rolls back rather than notify about bookings
+            // that did not change
+            throw new RuntimeException("Bookings changed during a bulk status change");
+        }
+        
+        List<Notification> notifications = new ArrayList<>();
+        for (BookingTransitionRow row : valid.values()) {
+            Notification notification = transitionNotification(row, target, actor);
+            if (notification != null) {
+                notifications.add(notification);
+            }
+        }
+        notificationOutbox.enqueueAll(notifications);
+        
+        List<BookingTransitionRow> changed = new ArrayList<>(valid.values());
+        TransactionHooks.afterCommit(() -> changed.forEach(row -> {
+            availabilityService.bookingChanged(row.getId(), row.getTutorId(), row.getStartTime(), row.getEndTime(), target);
+            sessionReminderService.bookingChanged(row.getId(), row.getStartTime(), target);
+        }));
+        
+        return new BulkTransitionResult(target, new ArrayList<>(valid.keySet()), skipped);
+    }
+    
+    // Brings the availability indexes and session reminders in line with a committed booking
+    private void bookingChanged(Booking booking) {
+        availabilityService.bookingChanged(booking);
+        sessionReminderService.bookingChanged(booking.getId(), booking.getStartTime(), booking.getStatus());
+    }
+    
+    // Admins may change any booking, tutors their own, and students may only cancel their own
+    private boolean mayTransition(User actor, BookingTransitionRow row, Booking.BookingStatus target) {
+        if (actor.isAdmin()) {
+            return true;
+        }
+        if (actor.isTutor()) {
+            return actor.getId().equals(row.getTutorId());
+        }
+        return target == Booking.BookingStatus.CANCELLED && actor.getId().equals(row.getStudentId());
+    }
+    
+    // Same notifications as the single-booking methods; completing a booking sends none
+    private Notification transitionNotification(BookingTransitionRow row, Booking.BookingStatus target, User actor) {
+        User student = userRepository.getReferenceById(row.getStudentId());
+        switch (target) {
+            case CONFIRMED:
+                return new Notification(
+                        student,
+                        "Booking Confirmed",
+                        "Your booking with " + row.getTutorName() + " has been confirmed.",
+                        Notification.NotificationType.BOOKING_CONFIRMATION,
+                        "/student/bookings/" + row.getId());
+            case REJECTED:
+                return new Notification(
+                        student,
+                        "Booking Rejected",
+                        "Your booking with " + row.getTutorName() + " has been rejected.",
+                        Notification.NotificationType.BOOKING_CANCELLATION,
+                        "/student/bookings/" + row.getId());
+            case CANCELLED:
+                boolean byStudent = actor.isStudent();
+                return new Notification(
+                        byStudent ? userRepository.getReferenceById(row.getTutorId()) : student,
+                        "Booking Cancelled",
+                        "Your booking with " + actor.getFullName() + " has been cancelled.",
+                        Notification.NotificationType.BOOKING_CANCELLATION,
+                        (byStudent ? "/tutor/bookings/" : "/student/bookings/") + row.getId());
+            default:
+                return null;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,141 @@
+package com.tutorconnect.service;
+
+import com.tutorconnect.dto.BookingInterval;
+import com.tutorconnect.dto.BookingSweepStats;
+import com.tutorconnect.model.Booking;
+import com.tutorconnect.repository.BookingRepository;
+import com.tutorconnect.service.availability.AvailabilityService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Moves bookings whose end time has passed out of the active statuses: CONFIRMED ones become
+// COMPLETED and PENDING ones EXPIRED. Works in chunks read oldest first along
+// idx_bookings_status_end, each updated in its own short transaction, so row locks are only
+// held for one chunk at a time and a run stops after a bounded number of chunks.
+@Slf4j
+@Component
+public class BookingSweeper {
+    
+    private final BookingRepository bookingRepository;
+    private final AvailabilityService availabilityService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong totalCompleted = new AtomicLong();
+    private final AtomicLong totalExpired = new AtomicLong();
+    
+    private volatile LocalDateTime lastRunStartedAt;
+    private volatile long lastRunMillis;
+    private volatile int lastRunCompleted;
+    private volatile int lastRunExpired;
+    private volatile int lastRunChunks;
+    private volatile String lastError;
+    
+    public BookingSweeper(BookingRepository bookingRepository,
+                          AvailabilityService availabilityService,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${booking.sweep.chunk-size:500}") int chunkSize,
+                          @Value("${booking.sweep.max-chunks-per-run:100}") int maxChunksPerRun) {
+        this.bookingRepository = bookingRepository;
+        this.availabilityService = availabilityService;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+    
+    @Scheduled(fixedDelayString = "${booking.sweep.interval-ms:300000}")
+    public void sweep() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        
+        long started = System.nanoTime();
+        lastRunStartedAt = LocalDateTime.now();
+        lastRunCompleted = 0;
+        lastRunExpired = 0;
+        lastRunChunks = 0;
+        try {
+            LocalDateTime cutoff = lastRunStartedAt;
+            lastRunCompleted = sweep(Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.COMPLETED, cutoff, totalCompleted);
+            lastRunExpired = sweep(Booking.BookingStatus.PENDING, Booking.BookingStatus.EXPIRED, cutoff, totalExpired);
+            lastError = null;
+        } catch (RuntimeException e) {
+            lastError = e.getMessage();
+            log.warn("Booking sweep failed after {} chunks", lastRunChunks, e);
+        } finally {
+            lastRunMillis = (System.nanoTime() - started) / 1_000_000;
+            runs.incrementAndGet();
+            running.set(false);
+        }
+        
+        if (lastRunCompleted > 0 || lastRunExpired > 0) {
+            log.info("Booking sweep completed {} and expired {} bookings in {} ms",
+                    lastRunCompleted, lastRunExpired, lastRunMillis);
+        }
+    }
+    
+    public BookingSweepStats getStats() {
+        return new BookingSweepStats(
+                running.get(),
+                runs.get(),
+                totalCompleted.get(),
+                totalExpired.get(),
+                lastRunStartedAt,
+                lastRunMillis,
+                lastRunCompleted,
+                lastRunExpired,
+                lastRunChunks,
+                lastError);
+    }
+    
+    private int sweep(Booking.BookingStatus from, Booking.BookingStatus to, LocalDateTime cutoff, AtomicLong total) {
+        int swept = 0;
+        while (lastRunChunks < maxChunksPerRun) {
+            List<BookingInterval> chunk = transactionTemplate.execute(status -> sweepChunk(from, to, cutoff));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            
+            lastRunChunks++;
+            swept += chunk.size();
+            total.addAndGet(chunk.size());
+            for (BookingInterval booking : chunk) {
+                availabilityService.bookingChanged(
+                        booking.getId(), booking.getTutorId(), booking.getStartTime(), booking.getEndTime(), to);
+            }
+            
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+        }
+        return swept;
+    }
+    
+    // Updated rows leave the source status, so every chunk is read from the head of the index
+    private List<BookingInterval> sweepChunk(Booking.BookingStatus from, Booking.BookingStatus to, LocalDateTime cutoff) {
+        List<BookingInterval> chunk = bookingRepository.findIntervalsEndedBefore(from, cutoff, PageRequest.of(0, chunkSize));
+        if (chunk.isEmpty()) {
+            return chunk;
+        }
+        
+        List<Long> ids = new ArrayList<>(chunk.size());
+        for (BookingInterval booking : chunk) {
+            ids.add(booking.getId());
+        }
+        bookingRepository.updateStatus(ids, to, List.of(from), LocalDateTime.now());
+        return chunk;
+    }
+}
\ No newline at end of file
@@ -1,12 +1,21 @@
 package com.tutorconnect.service;
 
+import com.tutorconnect.dto.CursorPage;
+import com.tutorconnect.dto.MessageReceipt;
+import com.tutorconnect.dto.MessageView;
+import com.tutorconnect.dto.UnreadMessageCounts;
 import com.tutorconnect.model.*;
 import com.tutorconnect.repository.ChatRoomRepository;
 import com.tutorconnect.repository.MessageRepository;
+import com.tutorconnect.service.chat.ChatEventPublisher;
+import com.tutorconnect.service.chat.UnreadMessageCounters;
+import com.tutorconnect.service.notification.NotificationOutbox;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,12 +25,23 @@ public class MessageService {
     
     private final MessageRepository messageRepository;
     private final ChatRoomRepository chatRoomRepository;
-    private final NotificationService notificationService;
+    private final NotificationOutbox notificationOutbox;
+    private final ChatEventPublisher chatEventPublisher;
+    private final UnreadMessageCounters unreadMessageCounters;
     
     public List<ChatRoom> findChatRoomsByUserId(Long userId) {
         return chatRoomRepository.findByStudentIdOrTutorId(userId, userId);
     }
     
+    public ChatRoom findChatRoomForParticipant(Long chatRoomId, User user) {
+        ChatRoom chatRoom = chatRoomRepository.findById(chatRoomId)
+                .orElseThrow(() -> new RuntimeException("Chat room not found"));
+        if (!isParticipant(chatRoom, user)) {
+            throw new RuntimeException("Not allowed to access this chat room");
+        }
+        return chatRoom;
+    }
+    
     public Optional<ChatRoom> findChatRoom(Long studentId, Long tutorId) {
         return chatRoomRepository.findByStudentIdAndTutorId(studentId, tutorId);
     }
@@ -36,8 +56,48 @@ public class MessageService {
         return messageRepository.findByChatRoomIdOrderBySentAtAsc(chatRoomId);
     }
     
+    // Newest first; the cursor encodes the (sentAt, id) of the oldest message seen so far
+    public CursorPage<MessageView> findMessageHistory(Long chatRoomId, String cursor, int size) {
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<MessageView> messages;
+        if (cursor == null || cursor.isBlank()) {
+            messages = messageRepository.findViewsByChatRoomId(chatRoomId, limit);
+        } else {
+            String[] position = CursorPage.decode(cursor, 2);
+            LocalDateTime sentAt = CursorPage.parse(position[0], LocalDateTime::parse);
+            Long id = CursorPage.parse(position[1], Long::valueOf);
+            messages = messageRepository.findViewsByChatRoomIdBefore(chatRoomId, sentAt, id, limit);
+        }
+        return CursorPage.of(messages, size, message -> CursorPage.encode(message.getSentAt(), message.getId()));
+    }
+    
+    // Messages sent after the given one, oldest first; a further page continues from nextCursor
+    // the same way
+    public CursorPage<MessageView> findMessagesSince(Long chatRoomId, Long afterMessageId, String cursor, int size) {
+        LocalDateTime sentAt;
+        Long id;
+        if (cursor == null || cursor.isBlank()) {
+            Message anchor = messageRepository.findById(afterMessageId)
+                    .filter(message -> message.getChatRoom().getId().equals(chatRoomId))
+                    .orElseThrow(() -> new RuntimeException("Message not found"));
+            sentAt = anchor.getSentAt();
+            id = anchor.getId();
+        } else {
+            String[] position = CursorPage.decode(cursor, 2);
+            sentAt = CursorPage.parse(position[0], LocalDateTime::parse);
+            id = CursorPage.parse(position[1], Long::valueOf);
+        }
+        List<MessageView> messages = messageRepository.findViewsByChatRoomIdAfter(
+                chatRoomId, sentAt, id, PageRequest.of(0, size + 1));
+        return CursorPage.of(messages, size, message -> CursorPage.encode(message.getSentAt(), message.getId()));
+    }
+    
     @Transactional
     public Message sendMessage(ChatRoom chatRoom, User sender, String content) {
+        // Determine recipient
+        User recipient = otherParticipant(chatRoom, sender);
+        unreadMessageCounters.writing(recipient.getId());
+        
         Message message = new Message(chatRoom, sender, content);
         Message savedMessage = messageRepository.save(message);
         
@@ -45,13 +105,18 @@ public class MessageService {
         chatRoom.setLastMessageAt(message.getSentAt());
         chatRoomRepository.save(chatRoom);
         
-        // Determine recipient
-        User recipient = sender.getId().equals(chatRoom.getStudent().getId()) 
-            ? chatRoom.getTutor() 
-            : chatRoom.getStudent();
+        // Push to open chat sessions once the message is visible to their follow-up reads
+        MessageView view = MessageView.from(savedMessage);
+        String senderEmail = sender.getEmail();
+        String recipientEmail = recipient.getEmail();
+        TransactionHooks.afterCommit(() -> chatEventPublisher.messageSent(view, senderEmail, recipientEmail));
+        
+        Long recipientId = recipient.getId();
+        Long chatRoomId = chatRoom.getId();
+        TransactionHooks.afterCommit(() -> unreadMessageCounters.messageReceived(recipientId, chatRoomId));
         
         // Send notification
-        notificationService.createNotification(
+        notificationOutbox.enqueue(
                 recipient,
                 "New Message",
                 "You have a new message from " + sender.getFullName(),
@@ -61,26 +126,63 @@ public class MessageService {
         return savedMessage;
     }
     
+    // One bulk UPDATE for the whole room; returns how many messages became read
     @Transactional
-    public void markMessagesAsRead(Long chatRoomId, Long userId) {
-        List<Message> unreadMessages = messageRepository.findByChatRoomIdAndSenderIdNotAndReadFalse(chatRoomId, userId);
-        
-        for (Message message : unreadMessages) {
-            message.markAsRead();
-        }
+    public int markMessagesAsRead(Long chatRoomId, Long userId) {
+        unreadMessageCounters.writing(userId);
+        int updated = messageRepository.markRead(chatRoomId, userId, Long.MAX_VALUE, LocalDateTime.now());
+        TransactionHooks.afterCommit(() -> unreadMessageCounters.messagesRead(userId, chatRoomId, updated));
+        return updated;
+    }
+    
+    // Records that the reader's client received the other participant's messages up to the given
+    // id and tells the other participant, if anything changed
+    @Transactional
+    public int markMessagesAsDelivered(ChatRoom chatRoom, User reader, Long upToMessageId) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = messageRepository.markDelivered(chatRoom.getId(), reader.getId(), upToMessageId, now);
+        publishReceipt(chatRoom, reader, MessageReceipt.Type.DELIVERED, upToMessageId, updated, now);
+        return updated;
+    }
+    
+    @Transactional
+    public int markMessagesAsRead(ChatRoom chatRoom, User reader, Long upToMessageId) {
+        LocalDateTime now = LocalDateTime.now();
+        unreadMessageCounters.writing(reader.getId());
+        int updated = messageRepository.markRead(chatRoom.getId(), reader.getId(), upToMessageId, now);
+        publishReceipt(chatRoom, reader, MessageReceipt.Type.READ, upToMessageId, updated, now);
         
-        messageRepository.saveAll(unreadMessages);
+        Long readerId = reader.getId();
+        Long chatRoomId = chatRoom.getId();
+        TransactionHooks.afterCommit(() -> unreadMessageCounters.messagesRead(readerId, chatRoomId, updated));
+        return updated;
     }
     
     public int getUnreadMessageCount(Long userId) {
-        List<ChatRoom> chatRooms = chatRoomRepository.findByStudentIdOrTutorId(userId, userId);
-        int count = 0;
-        
-        for (ChatRoom chatRoom : chatRooms) {
-            count += messageRepository.countByChatRoomIdAndSenderIdNotAndReadFalse(
-                    chatRoom.getId(), userId);
+        return unreadMessageCounters.get(userId).getTotal();
+    }
+    
+    public UnreadMessageCounts getUnreadMessageCounts(Long userId) {
+        return unreadMessageCounters.get(userId);
+    }
+    
+    private void publishReceipt(ChatRoom chatRoom, User reader, MessageReceipt.Type type,
+                                Long upToMessageId, int updated, LocalDateTime at) {
+        if (updated == 0) {
+            return;
         }
-        
-        return count;
+        MessageReceipt receipt = new MessageReceipt(chatRoom.getId(), type, upToMessageId, updated, at);
+        String senderEmail = otherParticipant(chatRoom, reader).getEmail();
+        TransactionHooks.afterCommit(() -> chatEventPublisher.receipt(receipt, senderEmail));
+    }
+    
+    private boolean isParticipant(ChatRoom chatRoom, User user) {
+        return user.getId().equals(chatRoom.getStudent().getId()) || user.getId().equals(chatRoom.getTutor().getId());
+    }
+    
+    private User otherParticipant(ChatRoom chatRoom, User user) {
+        return user.getId().equals(chatRoom.getStudent().getId())
+                ? chatRoom.getTutor()
+                : chatRoom.getStudent();
     }
 }
\ No newline at end of file
@@ -1,24 +1,59 @@
 package com.tutorconnect.service;
 
+import com.tutorconnect.dto.CursorPage;
+import com.tutorconnect.dto.NotificationView;
+import com.tutorconnect.dto.UnreadCountUpdate;
 import com.tutorconnect.model.Notification;
 import com.tutorconnect.model.User;
 import com.tutorconnect.repository.NotificationRepository;
+import com.tutorconnect.service.notification.NotificationStreamRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
     
     private final NotificationRepository notificationRepository;
+    private final NotificationStreamRegistry notificationStreamRegistry;
+    
+    @Value("${notifications.stream.max-replay:100}")
+    private int maxReplay;
+    
+    @Value("${notifications.coalesce.types:NEW_MESSAGE}")
+    private Set<Notification.NotificationType> coalescedTypes;
+    
+    @Value("${notifications.coalesce.window-minutes:30}")
+    private long coalesceWindowMinutes;
     
     public List<Notification> findNotificationsByUserId(Long userId) {
         return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
     }
     
+    // Newest first; the cursor encodes the id of the last notification seen
+    public CursorPage<NotificationView> findNotificationPage(Long userId, String cursor, int size) {
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<NotificationView> notifications;
+        if (cursor == null || cursor.isBlank()) {
+            notifications = notificationRepository.findViewsByUserId(userId, limit);
+        } else {
+            String[] position = CursorPage.decode(cursor, 1);
+            Long id = CursorPage.parse(position[0], Long::valueOf);
+            notifications = notificationRepository.findViewsByUserIdBefore(userId, id, limit);
+        }
+        return CursorPage.of(notifications, size, notification -> CursorPage.encode(notification.getId()));
+    }
+    
     public List<Notification> findUnreadNotificationsByUserId(Long userId) {
         return notificationRepository.findByUserIdAndReadFalseOrderByCreatedAtDesc(userId);
     }
@@ -30,31 +65,90 @@ public class NotificationService {
     @Transactional
     public Notification createNotification(User user, String title, String message, 
                                            Notification.NotificationType type, String link) {
-        Notification notification = new Notification(user, title, message, type, link);
-        return notificationRepository.save(notification);
+        return deliver(user, title, message, type, link, 1);
     }
     
+    // Creates a notification standing for the given number of events. For coalesced types the
+    // events are instead added to the user's unread notification with the same type and link
+    // if it last changed within the window, which then shows the latest title and message.
+    // The fold is one guarded UPDATE, so a notification read in the meantime is left alone and
+    // a new one is created instead.
     @Transactional
-    public void markNotificationAsRead(Long id) {
-        notificationRepository.findById(id).ifPresent(notification -> {
-            notification.markAsRead();
-            notificationRepository.save(notification);
+    public Notification deliver(User user, String title, String message,
+                                Notification.NotificationType type, String link, int occurrences) {
+        LocalDateTime now = LocalDateTime.now();
+        if (coalescedTypes.contains(type) && link != null) {
+            List<Long> open = notificationRepository.findCoalesceTarget(
+                    user.getId(), type, link, now.minusMinutes(coalesceWindowMinutes), PageRequest.of(0, 1));
+            if (!open.isEmpty() && notificationRepository.coalesce(open.get(0), occurrences, title, message, now) == 1) {
+                Long id = open.get(0);
+                
+                // Still one unread notification, so the unread count does not change
+                Long userId = user.getId();
+                NotificationView view = notificationRepository.findViewById(id);
+                TransactionHooks.afterCommit(() -> notificationStreamRegistry.sendNotificationUpdate(userId, view));
+                return notificationRepository.findById(id)
+                        .orElseThrow(() -> new RuntimeException("Notification not found"));
+            }
+        }
+        
+        Notification notification = new Notification(user, title, message, type, link);
+        notification.setOccurrences(occurrences);
+        Notification savedNotification = notificationRepository.save(notification);
+        
+        Long userId = user.getId();
+        NotificationView view = NotificationView.from(savedNotification);
+        TransactionHooks.afterCommit(() -> {
+            notificationStreamRegistry.sendNotification(userId, view);
+            notificationStreamRegistry.sendUnreadCount(userId, UnreadCountUpdate.delta(1));
         });
+        return savedNotification;
+    }
+    
+    // Opens a notification stream that starts with the unread count and, when the client resumes
+    // with the id of the last notification it saw, the newest notifications it missed
+    public SseEmitter openStream(Long userId, Long lastEventId) {
+        return notificationStreamRegistry.open(
+                userId,
+                () -> countUnreadNotificationsByUserId(userId),
+                () -> findMissedNotifications(userId, lastEventId));
     }
     
     @Transactional
-    public void markAllNotificationsAsRead(Long userId) {
-        List<Notification> unreadNotifications = notificationRepository.findByUserIdAndReadFalseOrderByCreatedAtDesc(userId);
-        
-        for (Notification notification : unreadNotifications) {
-            notification.markAsRead();
-        }
-        
-        notificationRepository.saveAll(unreadNotifications);
+    public int markNotificationAsRead(Long id, Long userId) {
+        int updated = notificationRepository.markRead(id, userId, LocalDateTime.now());
+        publishUnreadDrop(userId, updated);
+        return updated;
+    }
+    
+    @Transactional
+    public int markAllNotificationsAsRead(Long userId) {
+        int updated = notificationRepository.markAllRead(userId, LocalDateTime.now());
+        publishUnreadDrop(userId, updated);
+        return updated;
     }
     
     @Transactional
     public void deleteNotification(Long id) {
         notificationRepository.deleteById(id);
     }
+    
+    private void publishUnreadDrop(Long userId, int count) {
+        if (count > 0) {
+            TransactionHooks.afterCommit(() ->
+                    notificationStreamRegistry.sendUnreadCount(userId, UnreadCountUpdate.delta(-count)));
+        }
+    }
+    
+    private List<NotificationView> findMissedNotifications(Long userId, Long lastEventId) {
+        if (lastEventId == null) {
+            return Collections.emptyList();
+        }
+        List<NotificationView> missed = new ArrayList<>();
+        for (Notification notification : notificationRepository.findByUserIdAndIdGreaterThanOrderByIdDesc(
+                userId, lastEventId, PageRequest.of(0, maxReplay))) {
+            missed.add(NotificationView.from(notification));
+        }
+        return missed;
+    }
 }
\ No newline at end of file
@@ -1,10 +1,14 @@
 package com.tutorconnect.service;
 
+import com.tutorconnect.dto.CursorPage;
+import com.tutorconnect.dto.ReviewView;
 import com.tutorconnect.model.Notification;
 import com.tutorconnect.model.Review;
 import com.tutorconnect.model.Tutor;
 import com.tutorconnect.repository.ReviewRepository;
+import com.tutorconnect.service.notification.NotificationOutbox;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,7 +21,9 @@ import java.util.Optional;
 public class ReviewService {
     
     private final ReviewRepository reviewRepository;
-    private final NotificationService notificationService;
+    private final NotificationOutbox notificationOutbox;
+    private final TutorRatingAggregator tutorRatingAggregator;
+    private final TutorReviewStatsService tutorReviewStatsService;
     
     public List<Review> findAllReviews() {
         return reviewRepository.findAll();
@@ -35,6 +41,35 @@ public class ReviewService {
         return reviewRepository.findByStudentIdOrderByCreatedAtDesc(studentId);
     }
     
+    // Newest first; the cursor encodes the (createdAt, id) of the last review seen
+    public CursorPage<ReviewView> findReviewFeedByTutorId(Long tutorId, String cursor, int size) {
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<ReviewView> reviews;
+        if (cursor == null || cursor.isBlank()) {
+            reviews = reviewRepository.findViewsByTutorId(tutorId, limit);
+        } else {
+            String[] position = CursorPage.decode(cursor, 2);
+            LocalDateTime createdAt = CursorPage.parse(position[0], LocalDateTime::parse);
+            Long id = CursorPage.parse(position[1], Long::valueOf);
+            reviews = reviewRepository.findViewsByTutorIdBefore(tutorId, createdAt, id, limit);
+        }
+        return CursorPage.of(reviews, size, review -> CursorPage.encode(review.getCreatedAt(), review.getId()));
+    }
+    
+    public CursorPage<ReviewView> findReviewFeedByStudentId(Long studentId, String cursor, int size) {
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<ReviewView> reviews;
+        if (cursor == null || cursor.isBlank()) {
+            reviews = reviewRepository.findViewsByStudentId(studentId, limit);
+        } else {
+            String[] position = CursorPage.decode(cursor, 2);
+            LocalDateTime createdAt = CursorPage.parse(position[0], LocalDateTime::parse);
+            Long id = CursorPage.parse(position[1], Long::valueOf);
+            reviews = reviewRepository.findViewsByStudentIdBefore(studentId, createdAt, id, limit);
+        }
+        return CursorPage.of(reviews, size, review -> CursorPage.encode(review.getCreatedAt(), review.getId()));
+    }
+    
     public Optional<Review> findReviewByBookingId(Long bookingId) {
         return reviewRepository.findByBookingId(bookingId);
     }
@@ -42,12 +77,13 @@ public class ReviewService {
     @Transactional
     public Review createReview(Review review) {
         Tutor tutor = review.getTutor();
-        tutor.updateRating(null, review.getRating());
         
         Review savedReview = reviewRepository.save(review);
+        tutorRatingAggregator.recordAdded(tutor.getId(), review.getRating());
+        tutorReviewStatsService.recordAdded(tutor.getId(), review.getRating(), savedReview.getCreatedAt());
         
         // Send notification to tutor
-        notificationService.createNotification(
+        notificationOutbox.enqueue(
                 tutor,
                 "New Review",
                 "You have received a new review from " + review.getStudent().getFullName(),
@@ -67,8 +103,8 @@ public class ReviewService {
             review.update(rating, comment);
             
             // Update the tutor's average rating
-            Tutor tutor = review.getTutor();
-            tutor.updateRating(oldRating, rating);
+            tutorRatingAggregator.recordChanged(review.getTutor().getId(), oldRating, rating);
+            tutorReviewStatsService.recordChanged(review.getTutor().getId(), oldRating, rating, review.getCreatedAt());
             
             return reviewRepository.save(review);
         }).orElseThrow(() -> new RuntimeException("Review not found"));
@@ -78,8 +114,8 @@ public class ReviewService {
     public void deleteReview(Long id) {
         reviewRepository.findById(id).ifPresent(review -> {
             // Update the tutor's average rating
-            Tutor tutor = review.getTutor();
-            tutor.removeRating(review.getRating());
+            tutorRatingAggregator.recordRemoved(review.getTutor().getId(), review.getRating());
+            tutorReviewStatsService.recordRemoved(review.getTutor().getId(), review.getRating(), review.getCreatedAt());
             
             // Delete the review
             reviewRepository.delete(review);
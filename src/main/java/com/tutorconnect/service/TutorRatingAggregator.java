@@ -0,0 +1,156 @@
+package com.tutorconnect.service;
+
+import com.tutorconnect.model.Tutor;
+import com.tutorconnect.repository.TutorRepository;
+import com.tutorconnect.service.search.TutorSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Absorbs rating changes from concurrent reviews in per-tutor striped counters instead of
+// read-modify-writing the tutor row, and periodically flushes the accumulated deltas to the
+// tutors table as one JDBC batch of in-place increments.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TutorRatingAggregator {
+    
+    private static final int STRIPES = 8;
+    
+    // All SET expressions see the row as it was before the update, so the average is computed
+    // from the same sum and count that are being incremented
+    private static final String FLUSH_SQL =
+            "UPDATE tutors SET " +
+            "rating_sum = COALESCE(rating_sum, 0) + ?, " +
+            "total_reviews = COALESCE(total_reviews, 0) + ?, " +
+            "average_rating = CASE WHEN COALESCE(total_reviews, 0) + ? > 0 " +
+            "THEN (COALESCE(rating_sum, 0) + ?) * 1.0 / (COALESCE(total_reviews, 0) + ?) ELSE 0 END " +
+            "WHERE user_id = ?";
+    
+    private static final String RECOMPUTE_SQL =
+            "UPDATE tutors SET " +
+            "rating_sum = (SELECT COALESCE(SUM(r.rating), 0) FROM reviews r WHERE r.tutor_id = tutors.user_id), " +
+            "total_reviews = (SELECT COUNT(*) FROM reviews r WHERE r.tutor_id = tutors.user_id), " +
+            "average_rating = COALESCE((SELECT AVG(r.rating * 1.0) FROM reviews r WHERE r.tutor_id = tutors.user_id), 0)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TutorRepository tutorRepository;
+    private final TutorSearchService tutorSearchService;
+    
+    private final Map<Long, Accumulator> pending = new ConcurrentHashMap<>();
+    
+    public void recordAdded(Long tutorId, int rating) {
+        TransactionHooks.afterCommit(() -> accumulator(tutorId).add(rating, 1));
+    }
+    
+    public void recordChanged(Long tutorId, int oldRating, int newRating) {
+        if (oldRating != newRating) {
+            TransactionHooks.afterCommit(() -> accumulator(tutorId).add(newRating - oldRating, 0));
+        }
+    }
+    
+    public void recordRemoved(Long tutorId, int rating) {
+        TransactionHooks.afterCommit(() -> accumulator(tutorId).add(-rating, -1));
+    }
+    
+    @Scheduled(fixedDelayString = "${rating.flush-interval-ms:5000}")
+    public void flush() {
+        List<Long> tutorIds = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        
+        for (Map.Entry<Long, Accumulator> entry : pending.entrySet()) {
+            long delta = entry.getValue().drain();
+            if (delta == 0) {
+                continue;
+            }
+            int count = countOf(delta);
+            long sum = sumOf(delta);
+            tutorIds.add(entry.getKey());
+            batch.add(new Object[]{sum, count, count, sum, count, entry.getKey()});
+        }
+        
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+        } catch (RuntimeException e) {
+            // Put the deltas back so the next flush retries them
+            for (Object[] row : batch) {
+                accumulator((Long) row[5]).add((Long) row[0], (Integer) row[1]);
+            }
+            throw e;
+        }
+        
+        // Ratings reach the search indexes and leaderboards once they are persisted
+        for (Tutor tutor : tutorRepository.findAllWithSubjectsByIdIn(tutorIds)) {
+            tutorSearchService.indexTutor(tutor);
+        }
+    }
+    
+    // Rewrites every tutor's rating from the reviews table, discarding deltas not yet flushed
+    // (they are already contained in the committed reviews). Runs before the search indexes load.
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void recomputeFromReviews() {
+        for (Accumulator accumulator : pending.values()) {
+            accumulator.drain();
+        }
+        int updated = jdbcTemplate.update(RECOMPUTE_SQL);
+        log.info("Recomputed ratings of {} tutors from reviews", updated);
+    }
+    
+    private Accumulator accumulator(Long tutorId) {
+        return pending.computeIfAbsent(tutorId, id -> new Accumulator());
+    }
+    
+    // A delta is packed as sum * 2^32 + count, so adding packed values adds both parts at once
+    // and a cell can be drained atomically with getAndSet
+    private static long pack(long sum, int count) {
+        return (sum << 32) + count;
+    }
+    
+    private static int countOf(long packed) {
+        return (int) packed;
+    }
+    
+    private static long sumOf(long packed) {
+        return (packed - countOf(packed)) >> 32;
+    }
+    
+    // LongAdder-style striping: concurrent writers for one tutor usually hit different cells
+    private static class Accumulator {
+        
+        private final AtomicLongArray cells = new AtomicLongArray(STRIPES);
+        
+        void add(long sum, int count) {
+            int cell = (int) (Thread.currentThread().getId() & (STRIPES - 1));
+            cells.getAndAdd(cell, pack(sum, count));
+        }
+        
+        long drain() {
+            long total = 0;
+            for (int i = 0; i < STRIPES; i++) {
+                total += cells.getAndSet(i, 0);
+            }
+            return total;
+        }
+    }
+}
\ No newline at end of file
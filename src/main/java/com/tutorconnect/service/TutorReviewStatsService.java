@@ -0,0 +1,316 @@
+package com.tutorconnect.service;
+
+import com.tutorconnect.dto.TutorReviewStatsView;
+import com.tutorconnect.model.TutorReviewStats;
+import com.tutorconnect.repository.TutorReviewDailyStatsRepository;
+import com.tutorconnect.repository.TutorReviewStatsRepository;
+import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Keeps per-tutor star histograms, daily rating buckets and the last review time up to date
+// from review writes, so review statistics are served without reading the reviews table.
+// Deltas are collected in memory and written in batches by a single scheduled flush, and once
+// more on shutdown. Deltas lost anyway (a crash, a failed final flush) are healed by rebuilding
+// from the reviews table at startup and on a schedule.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TutorReviewStatsService {
+    
+    private static final String UPDATE_HISTOGRAM_SQL =
+            "UPDATE tutor_review_stats SET one_star_count = one_star_count + ?, two_star_count = two_star_count + ?, " +
+            "three_star_count = three_star_count + ?, four_star_count = four_star_count + ?, " +
+            "five_star_count = five_star_count + ? WHERE tutor_id = ?";
+    
+    private static final String INSERT_HISTOGRAM_SQL =
+            "INSERT INTO tutor_review_stats (one_star_count, two_star_count, three_star_count, four_star_count, " +
+            "five_star_count, tutor_id) VALUES (?, ?, ?, ?, ?, ?)";
+    
+    private static final String UPDATE_LAST_REVIEW_SQL =
+            "UPDATE tutor_review_stats SET last_review_at = ? " +
+            "WHERE tutor_id = ? AND (last_review_at IS NULL OR last_review_at < ?)";
+    
+    // Used after a removal, which may have taken away the newest review
+    private static final String RECOMPUTE_LAST_REVIEW_SQL =
+            "UPDATE tutor_review_stats SET last_review_at = " +
+            "(SELECT MAX(created_at) FROM reviews WHERE reviews.tutor_id = tutor_review_stats.tutor_id) " +
+            "WHERE tutor_id = ?";
+    
+    private static final String UPDATE_DAY_SQL =
+            "UPDATE tutor_review_daily_stats SET rating_sum = rating_sum + ?, review_count = review_count + ? " +
+            "WHERE tutor_id = ? AND review_date = ?";
+    
+    private static final String INSERT_DAY_SQL =
+            "INSERT INTO tutor_review_daily_stats (rating_sum, review_count, tutor_id, review_date) VALUES (?, ?, ?, ?)";
+    
+    private static final String REBUILD_HISTOGRAM_SQL =
+            "INSERT INTO tutor_review_stats (tutor_id, one_star_count, two_star_count, three_star_count, " +
+            "four_star_count, five_star_count, last_review_at) " +
+            "SELECT tutor_id, SUM(CASE WHEN rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 2 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 4 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN rating = 5 THEN 1 ELSE 0 END), MAX(created_at) FROM reviews GROUP BY tutor_id";
+    
+    private static final String REBUILD_DAYS_SQL =
+            "INSERT INTO tutor_review_daily_stats (tutor_id, review_date, rating_sum, review_count) " +
+            "SELECT tutor_id, CAST(created_at AS DATE), SUM(rating), COUNT(*) FROM reviews " +
+            "GROUP BY tutor_id, CAST(created_at AS DATE)";
+    
+    private final TutorReviewStatsRepository tutorReviewStatsRepository;
+    private final TutorReviewDailyStatsRepository tutorReviewDailyStatsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    
+    // tutor id -> star count deltas, index 0 for one star
+    private final Map<Long, AtomicLongArray> pendingHistograms = new ConcurrentHashMap<>();
+    
+    // (tutor id, day) -> [rating sum delta, review count delta]
+    private final Map<DayKey, AtomicLongArray> pendingDays = new ConcurrentHashMap<>();
+    
+    private final Map<Long, LocalDateTime> pendingLastReviews = new ConcurrentHashMap<>();
+    
+    // Tutors whose last review time has to be recomputed because a review was removed
+    private final Set<Long> pendingLastReviewRecomputes = ConcurrentHashMap.newKeySet();
+    
+    public TutorReviewStatsView getStats(Long tutorId) {
+        TutorReviewStats stats = tutorReviewStatsRepository.findById(tutorId)
+                .orElseGet(() -> {
+                    TutorReviewStats empty = new TutorReviewStats();
+                    empty.setTutorId(tutorId);
+                    return empty;
+                });
+        
+        Map<Integer, Integer> histogram = new LinkedHashMap<>();
+        histogram.put(1, stats.getOneStarCount());
+        histogram.put(2, stats.getTwoStarCount());
+        histogram.put(3, stats.getThreeStarCount());
+        histogram.put(4, stats.getFourStarCount());
+        histogram.put(5, stats.getFiveStarCount());
+        
+        int total = stats.getTotalReviews();
+        double average = total > 0 ? (double) stats.getRatingSum() / total : 0.0;
+        
+        LocalDate today = LocalDate.now();
+        long[] last30 = sumSince(tutorId, today.minusDays(29));
+        long[] last90 = sumSince(tutorId, today.minusDays(89));
+        
+        return new TutorReviewStatsView(
+                tutorId,
+                total,
+                average,
+                histogram,
+                last30[1],
+                last30[1] > 0 ? (double) last30[0] / last30[1] : null,
+                last90[1],
+                last90[1] > 0 ? (double) last90[0] / last90[1] : null,
+                stats.getLastReviewAt());
+    }
+    
+    public void recordAdded(Long tutorId, int rating, LocalDateTime createdAt) {
+        TransactionHooks.afterCommit(() -> {
+            histogram(tutorId).addAndGet(rating - 1, 1);
+            day(tutorId, createdAt).addAndGet(0, rating);
+            day(tutorId, createdAt).addAndGet(1, 1);
+            pendingLastReviews.merge(tutorId, createdAt, (a, b) -> a.isAfter(b) ? a : b);
+        });
+    }
+    
+    public void recordChanged(Long tutorId, int oldRating, int newRating, LocalDateTime createdAt) {
+        if (oldRating == newRating) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            histogram(tutorId).addAndGet(oldRating - 1, -1);
+            histogram(tutorId).addAndGet(newRating - 1, 1);
+            day(tutorId, createdAt).addAndGet(0, newRating - oldRating);
+        });
+    }
+    
+    public void recordRemoved(Long tutorId, int rating, LocalDateTime createdAt) {
+        TransactionHooks.afterCommit(() -> {
+            histogram(tutorId).addAndGet(rating - 1, -1);
+            day(tutorId, createdAt).addAndGet(0, -rating);
+            day(tutorId, createdAt).addAndGet(1, -1);
+            pendingLastReviewRecomputes.add(tutorId);
+        });
+    }
+    
+    // Only this method writes the stats tables, so an UPDATE that matched no row can safely be
+    // followed by an INSERT of that row
+    @Scheduled(fixedDelayString = "${rating.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<Object[]> histogramRows = new ArrayList<>();
+        for (Map.Entry<Long, AtomicLongArray> entry : pendingHistograms.entrySet()) {
+            long[] delta = drain(entry.getValue());
+            if (isNonZero(delta)) {
+                histogramRows.add(new Object[]{delta[0], delta[1], delta[2], delta[3], delta[4], entry.getKey()});
+            }
+        }
+        
+        List<Object[]> dayRows = new ArrayList<>();
+        for (Map.Entry<DayKey, AtomicLongArray> entry : pendingDays.entrySet()) {
+            long[] delta = drain(entry.getValue());
+            if (isNonZero(delta)) {
+                dayRows.add(new Object[]{delta[0], delta[1], entry.getKey().tutorId(), entry.getKey().date()});
+            }
+        }
+        
+        List<Object[]> lastReviewRows = new ArrayList<>();
+        for (Long tutorId : new ArrayList<>(pendingLastReviews.keySet())) {
+            LocalDateTime lastReviewAt = pendingLastReviews.remove(tutorId);
+            if (lastReviewAt != null) {
+                Timestamp at = Timestamp.valueOf(lastReviewAt);
+                lastReviewRows.add(new Object[]{at, tutorId, at});
+            }
+        }
+        
+        List<Object[]> recomputeRows = new ArrayList<>();
+        for (Long tutorId : new ArrayList<>(pendingLastReviewRecomputes)) {
+            if (pendingLastReviewRecomputes.remove(tutorId)) {
+                recomputeRows.add(new Object[]{tutorId});
+            }
+        }
+        
+        if (histogramRows.isEmpty() && dayRows.isEmpty() && lastReviewRows.isEmpty() && recomputeRows.isEmpty()) {
+            return;
+        }
+        
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                upsert(UPDATE_HISTOGRAM_SQL, INSERT_HISTOGRAM_SQL, histogramRows);
+                upsert(UPDATE_DAY_SQL, INSERT_DAY_SQL, dayRows);
+                if (!lastReviewRows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPDATE_LAST_REVIEW_SQL, lastReviewRows);
+                }
+                // Last, so it also overrides a forward move to a review that is gone by now
+                if (!recomputeRows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(RECOMPUTE_LAST_REVIEW_SQL, recomputeRows);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Put the deltas back so the next flush retries them
+            for (Object[] row : histogramRows) {
+                AtomicLongArray histogram = histogram((Long) row[5]);
+                for (int star = 0; star < 5; star++) {
+                    histogram.addAndGet(star, (Long) row[star]);
+                }
+            }
+            for (Object[] row : dayRows) {
+                AtomicLongArray day = pendingDays.computeIfAbsent(
+                        new DayKey((Long) row[2], (LocalDate) row[3]), key -> new AtomicLongArray(2));
+                day.addAndGet(0, (Long) row[0]);
+                day.addAndGet(1, (Long) row[1]);
+            }
+            for (Object[] row : lastReviewRows) {
+                pendingLastReviews.merge((Long) row[1], ((Timestamp) row[0]).toLocalDateTime(),
+                        (a, b) -> a.isAfter(b) ? a : b);
+            }
+            for (Object[] row : recomputeRows) {
+                pendingLastReviewRecomputes.add((Long) row[0]);
+            }
+            throw e;
+        }
+    }
+    
+    // Writes what is still buffered before the database connections go away
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Could not flush review statistics on shutdown; they are rebuilt at the next startup", e);
+        }
+    }
+    
+    // A delta recorded between the rebuild's read of the reviews table and the clearing of the
+    // buffers can be counted twice; the next rebuild corrects that as well
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAtStartup() {
+        transactionTemplate.executeWithoutResult(status -> rebuildFromReviews());
+    }
+    
+    @Scheduled(initialDelayString = "${rating.rebuild-interval-ms:86400000}",
+               fixedDelayString = "${rating.rebuild-interval-ms:86400000}")
+    public void rebuildPeriodically() {
+        transactionTemplate.executeWithoutResult(status -> rebuildFromReviews());
+    }
+    
+    // Repopulates the statistics tables from the reviews table, replacing whatever is buffered
+    @Transactional
+    public synchronized void rebuildFromReviews() {
+        pendingHistograms.clear();
+        pendingDays.clear();
+        pendingLastReviews.clear();
+        pendingLastReviewRecomputes.clear();
+        
+        tutorReviewDailyStatsRepository.deleteAllInBatch();
+        tutorReviewStatsRepository.deleteAllInBatch();
+        int tutors = jdbcTemplate.update(REBUILD_HISTOGRAM_SQL);
+        jdbcTemplate.update(REBUILD_DAYS_SQL);
+        log.info("Rebuilt review statistics for {} tutors", tutors);
+    }
+    
+    private long[] sumSince(Long tutorId, LocalDate since) {
+        Object[] row = tutorReviewDailyStatsRepository.sumSince(tutorId, since).get(0);
+        return new long[]{((Number) row[0]).longValue(), ((Number) row[1]).longValue()};
+    }
+    
+    private void upsert(String updateSql, String insertSql, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        
+        int[] updated = jdbcTemplate.batchUpdate(updateSql, rows);
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(rows.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(insertSql, missing);
+        }
+    }
+    
+    private AtomicLongArray histogram(Long tutorId) {
+        return pendingHistograms.computeIfAbsent(tutorId, id -> new AtomicLongArray(5));
+    }
+    
+    private AtomicLongArray day(Long tutorId, LocalDateTime createdAt) {
+        return pendingDays.computeIfAbsent(new DayKey(tutorId, createdAt.toLocalDate()), key -> new AtomicLongArray(2));
+    }
+    
+    private static long[] drain(AtomicLongArray cells) {
+        long[] values = new long[cells.length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = cells.getAndSet(i, 0);
+        }
+        return values;
+    }
+    
+    private static boolean isNonZero(long[] values) {
+        for (long value : values) {
+            if (value != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private record DayKey(Long tutorId, LocalDate date) {
+    }
+}
\ No newline at end of file
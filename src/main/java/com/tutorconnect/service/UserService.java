@@ -1,31 +1,51 @@
 package com.tutorconnect.service;
 
+import com.tutorconnect.dto.CursorPage;
+import com.tutorconnect.dto.SubjectSummary;
+import com.tutorconnect.dto.TutorCard;
+import com.tutorconnect.dto.TutorSubjectRow;
 import com.tutorconnect.model.Admin;
 import com.tutorconnect.model.Student;
+import com.tutorconnect.model.Subject;
 import com.tutorconnect.model.Tutor;
 import com.tutorconnect.model.User;
 import com.tutorconnect.repository.AdminRepository;
 import com.tutorconnect.repository.StudentRepository;
+import com.tutorconnect.repository.SubjectRepository;
 import com.tutorconnect.repository.TutorRepository;
 import com.tutorconnect.repository.UserRepository;
+import com.tutorconnect.security.JwtAuthenticationCache;
+import com.tutorconnect.security.TokenRevocationService;
+import com.tutorconnect.service.availability.AvailabilityService;
+import com.tutorconnect.service.availability.TutorSlotIndex;
+import com.tutorconnect.service.search.TutorSearchService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
     
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
     private final UserRepository userRepository;
     private final StudentRepository studentRepository;
     private final TutorRepository tutorRepository;
     private final AdminRepository adminRepository;
+    private final SubjectRepository subjectRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TutorSearchService tutorSearchService;
+    private final AvailabilityService availabilityService;
+    private final TutorSlotIndex tutorSlotIndex;
+    private final JwtAuthenticationCache jwtAuthenticationCache;
+    private final TokenRevocationService tokenRevocationService;
     
     // ============ Generic User Methods ============
     
@@ -43,7 +63,12 @@ public class UserService {
     
     @Transactional
     public void deleteUser(Long id) {
+        userRepository.findById(id).ifPresent(this::invalidateAuthentications);
         userRepository.deleteById(id);
+        TransactionHooks.afterCommit(() -> {
+            tutorSearchService.removeTutor(id);
+            availabilityService.invalidate(id);
+        });
     }
     
     @Transactional
@@ -59,9 +84,70 @@ public class UserService {
         userRepository.findById(id).ifPresent(user -> {
             user.setActive(!user.isActive());
             userRepository.save(user);
+            if (user.isActive()) {
+                invalidateAuthentications(user);
+            } else {
+                tokenRevocationService.revokeAllForUser(user.getEmail());
+            }
+        });
+    }
+    
+    @Transactional
+    public void changePassword(Long id, String currentPassword, String newPassword) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+            throw new RuntimeException("Current password is incorrect");
+        }
+        user.setPassword(passwordEncoder.encode(newPassword));
+        userRepository.save(user);
+        // Sessions holding the old password's tokens, including the caller's, have to log in again
+        tokenRevocationService.revokeAllForUser(user.getEmail());
+    }
+    
+    // Logs the user out on every device
+    @Transactional
+    public void revokeAllTokens(Long id) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        tokenRevocationService.revokeAllForUser(user.getEmail());
+    }
+    
+    public Optional<User> findUserByCalendarToken(String calendarToken) {
+        return userRepository.findByCalendarToken(calendarToken);
+    }
+    
+    // Creates or replaces the secret token of the user's calendar feed URL, which revokes the old URL
+    @Transactional
+    public String rotateCalendarToken(Long id) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        byte[] bytes = new byte[24];
+        RANDOM.nextBytes(bytes);
+        user.setCalendarToken(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes));
+        userRepository.save(user);
+        return user.getCalendarToken();
+    }
+    
+    // In-memory tutor indexes only see the change once it is committed, so a rollback cannot
+    // leave them ahead of the database. Schedules are saved through the tutor (cascade), so the
+    // cached availability is dropped and the slot index re-reads the schedule, which needs the
+    // facet ordinal assigned by the reindex.
+    private void tutorChanged(Long tutorId) {
+        TransactionHooks.afterCommit(() -> {
+            tutorSearchService.reindexTutor(tutorId);
+            availabilityService.invalidate(tutorId);
+            tutorSlotIndex.scheduleChanged(tutorId);
         });
     }
     
+    // Cached request authentications of the user are dropped once the change is committed, so
+    // the next request loads the account again
+    private void invalidateAuthentications(User user) {
+        String email = user.getEmail();
+        TransactionHooks.afterCommit(() -> jwtAuthenticationCache.invalidateUser(email));
+    }
+    
     // ============ Student Methods ============
     
     public List<Student> findAllStudents() {
@@ -90,6 +176,53 @@ public class UserService {
         return tutorRepository.findAll();
     }
     
+    // Tutor cards ordered by rating; the cursor encodes the (averageRating, id) of the last card seen
+    public CursorPage<TutorCard> findTutorCards(String cursor, int size) {
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<TutorCard> cards;
+        if (cursor == null || cursor.isBlank()) {
+            cards = withUnratedAfter(tutorRepository.findRatedCards(limit), size);
+        } else {
+            String[] position = CursorPage.decode(cursor, 2);
+            Double rating = CursorPage.parseNullable(position[0], Double::valueOf);
+            Long id = CursorPage.parse(position[1], Long::valueOf);
+            // Unrated tutors come last, so past the first of them only unrated ones remain
+            cards = rating != null
+                    ? withUnratedAfter(tutorRepository.findRatedCardsAfter(rating, id, limit), size)
+                    : tutorRepository.findUnratedCardsAfter(id, limit);
+        }
+        
+        CursorPage<TutorCard> page = CursorPage.of(cards, size,
+                card -> CursorPage.encode(card.getAverageRating(), card.getId()));
+        attachSubjects(page.getItems());
+        return page;
+    }
+    
+    // Once the rated tutors run out within a page, the page continues with the unrated ones
+    private List<TutorCard> withUnratedAfter(List<TutorCard> rated, int size) {
+        if (rated.size() > size) {
+            return rated;
+        }
+        List<TutorCard> cards = new ArrayList<>(rated);
+        cards.addAll(tutorRepository.findUnratedCards(PageRequest.of(0, size + 1 - rated.size())));
+        return cards;
+    }
+    
+    private void attachSubjects(List<TutorCard> cards) {
+        if (cards.isEmpty()) {
+            return;
+        }
+        
+        Map<Long, TutorCard> cardsById = new HashMap<>();
+        for (TutorCard card : cards) {
+            cardsById.put(card.getId(), card);
+        }
+        for (TutorSubjectRow row : tutorRepository.findSubjectRowsByTutorIdIn(cardsById.keySet())) {
+            cardsById.get(row.getTutorId()).getSubjects()
+                    .add(new SubjectSummary(row.getSubjectId(), row.getSubjectName()));
+        }
+    }
+    
     public List<Tutor> findTutorsBySubjectId(Long subjectId) {
         return tutorRepository.findBySubjectsId(subjectId);
     }
@@ -98,16 +231,54 @@ public class UserService {
         return tutorRepository.findById(id);
     }
     
+    public List<Tutor> searchTutors(String keyword) {
+        Set<Long> tutorIds = tutorSearchService.findTutorIdsByKeyword(keyword);
+        if (tutorIds.isEmpty()) {
+            return List.of();
+        }
+        return tutorRepository.findAllById(tutorIds);
+    }
+    
     @Transactional
     public Tutor registerTutor(Tutor tutor) {
         tutor.setPassword(passwordEncoder.encode(tutor.getPassword()));
         tutor.setRole(User.Role.TUTOR);
-        return tutorRepository.save(tutor);
+        // A new tutor starts without reviews whatever the request carried
+        tutor.setAverageRating(0.0);
+        tutor.setTotalReviews(0);
+        tutor.setRatingSum(0L);
+        Tutor savedTutor = tutorRepository.save(tutor);
+        tutorChanged(savedTutor.getId());
+        return savedTutor;
     }
     
     @Transactional
     public Tutor updateTutor(Tutor tutor) {
-        return tutorRepository.save(tutor);
+        Tutor savedTutor = tutorRepository.save(tutor);
+        tutorChanged(savedTutor.getId());
+        return savedTutor;
+    }
+    
+    @Transactional
+    public Tutor addTutorSubject(Long tutorId, Long subjectId) {
+        Tutor tutor = tutorRepository.findById(tutorId)
+                .orElseThrow(() -> new RuntimeException("Tutor not found"));
+        Subject subject = subjectRepository.findById(subjectId)
+                .orElseThrow(() -> new RuntimeException("Subject not found"));
+        
+        tutor.addSubject(subject);
+        return updateTutor(tutor);
+    }
+    
+    @Transactional
+    public Tutor removeTutorSubject(Long tutorId, Long subjectId) {
+        Tutor tutor = tutorRepository.findById(tutorId)
+                .orElseThrow(() -> new RuntimeException("Tutor not found"));
+        Subject subject = subjectRepository.findById(subjectId)
+                .orElseThrow(() -> new RuntimeException("Subject not found"));
+        
+        tutor.removeSubject(subject);
+        return updateTutor(tutor);
     }
     
     // ============ Admin Methods ============
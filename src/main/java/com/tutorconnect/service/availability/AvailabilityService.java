@@ -0,0 +1,220 @@
+package com.tutorconnect.service.availability;
+
+import com.tutorconnect.dto.BookingInterval;
+import com.tutorconnect.dto.TimeSlot;
+import com.tutorconnect.dto.TutorCard;
+import com.tutorconnect.model.Booking;
+import com.tutorconnect.model.BookingSeries;
+import com.tutorconnect.model.TutorSchedule;
+import com.tutorconnect.repository.BookingRepository;
+import com.tutorconnect.repository.BookingSeriesCancellationRepository;
+import com.tutorconnect.repository.BookingSeriesRepository;
+import com.tutorconnect.repository.TutorScheduleRepository;
+import com.tutorconnect.service.search.TutorSortOrder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Per-tutor availability built from weekly TutorSchedule windows and PENDING/CONFIRMED bookings.
+// A tutor's state is loaded from the database on first use and then kept current by BookingService;
+// changes that arrive while the load is reading the database are replayed onto the loaded state.
+@Service
+@RequiredArgsConstructor
+public class AvailabilityService {
+    
+    public static final List<Booking.BookingStatus> ACTIVE_STATUSES =
+            List.of(Booking.BookingStatus.PENDING, Booking.BookingStatus.CONFIRMED);
+    
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Duration MAX_FREE_TUTOR_RANGE = Duration.ofDays(7);
+    
+    private final TutorScheduleRepository tutorScheduleRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingSeriesRepository bookingSeriesRepository;
+    private final BookingSeriesCancellationRepository bookingSeriesCancellationRepository;
+    private final TutorSlotIndex tutorSlotIndex;
+    
+    private final Map<Long, TutorAvailability> tutors = new ConcurrentHashMap<>();
+    
+    // Guarded by itself; handing a load over to tutors happens under the same lock
+    private final Map<Long, Loading> loading = new HashMap<>();
+    
+    public boolean hasConflict(Long tutorId, LocalDateTime start, LocalDateTime end) {
+        return availability(tutorId).isBooked(start, end);
+    }
+    
+    // Whether any occurrence of a new series overlaps a booking or another series of the tutor
+    public boolean hasConflict(Long tutorId, Recurrence recurrence) {
+        TutorAvailability availability = availability(tutorId);
+        for (TimeSlot occurrence : recurrence.allOccurrences()) {
+            if (availability.isBooked(occurrence.getStart(), occurrence.getEnd())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public List<TimeSlot> findFreeSlots(Long tutorId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new RuntimeException("Invalid time range");
+        }
+        return availability(tutorId).freeSlots(from, to);
+    }
+    
+    // Tutors free for the whole range, at 15-minute resolution, answered from the slot index
+    public List<TutorCard> findFreeTutors(LocalDateTime start, LocalDateTime end, Collection<Long> subjectIds,
+                                          TutorSortOrder sortOrder, int limit) {
+        if (!start.isBefore(end)) {
+            throw new RuntimeException("Invalid time range");
+        }
+        if (Duration.between(start, end).compareTo(MAX_FREE_TUTOR_RANGE) > 0) {
+            throw new RuntimeException("Time range must not exceed one week");
+        }
+        return tutorSlotIndex.findFreeTutors(start, end, subjectIds, sortOrder, Math.min(Math.max(1, limit), MAX_PAGE_SIZE));
+    }
+    
+    // Keeps the booked intervals in line with a booking's current status
+    public void bookingChanged(Booking booking) {
+        bookingChanged(booking.getId(), booking.getTutor().getId(),
+                booking.getStartTime(), booking.getEndTime(), booking.getStatus());
+    }
+    
+    public void bookingChanged(Long bookingId, Long tutorId, LocalDateTime start, LocalDateTime end,
+                               Booking.BookingStatus status) {
+        boolean active = ACTIVE_STATUSES.contains(status);
+        tutorSlotIndex.bookingChanged(bookingId, tutorId, start, end, active);
+        
+        apply(tutorId, availability -> {
+            if (active) {
+                availability.putBooking(bookingId, start, end);
+            } else {
+                availability.removeBooking(bookingId);
+            }
+        });
+    }
+    
+    public void seriesChanged(BookingSeries series, Set<LocalDate> cancelledDates) {
+        boolean active = ACTIVE_STATUSES.contains(series.getStatus());
+        Recurrence recurrence = Recurrence.of(series, cancelledDates);
+        tutorSlotIndex.seriesChanged(recurrence, series.getTutor().getId(), active);
+        
+        apply(series.getTutor().getId(), availability -> {
+            if (active) {
+                availability.putSeries(recurrence);
+            } else {
+                availability.removeSeries(series.getId());
+            }
+        });
+    }
+    
+    // Drops the cached state of a tutor, e.g. after their weekly schedule changed; the slot index
+    // is updated separately with TutorSlotIndex.scheduleChanged
+    public void invalidate(Long tutorId) {
+        synchronized (loading) {
+            tutors.remove(tutorId);
+            Loading load = loading.get(tutorId);
+            if (load != null) {
+                // The load may have read the old schedule; it answers its callers but is not kept
+                load.stale = true;
+            }
+        }
+    }
+    
+    // Applies a change to the tutor's state if it is loaded, or records it for the load in progress.
+    // Changes are idempotent, so replaying one the load has already read is harmless.
+    private void apply(Long tutorId, Consumer<TutorAvailability> change) {
+        TutorAvailability availability;
+        synchronized (loading) {
+            Loading load = loading.get(tutorId);
+            if (load != null) {
+                load.missed.add(change);
+                return;
+            }
+            availability = tutors.get(tutorId);
+        }
+        if (availability != null) {
+            change.accept(availability);
+        }
+    }
+    
+    // The database is read outside any lock; concurrent callers for the same tutor wait for one load
+    private TutorAvailability availability(Long tutorId) {
+        TutorAvailability availability = tutors.get(tutorId);
+        if (availability != null) {
+            return availability;
+        }
+        
+        Loading load;
+        boolean loader = false;
+        synchronized (loading) {
+            availability = tutors.get(tutorId);
+            if (availability != null) {
+                return availability;
+            }
+            load = loading.get(tutorId);
+            if (load == null) {
+                load = new Loading();
+                loading.put(tutorId, load);
+                loader = true;
+            }
+        }
+        if (!loader) {
+            return load.result.join();
+        }
+        
+        try {
+            TutorAvailability loaded = load(tutorId);
+            synchronized (loading) {
+                load.missed.forEach(change -> change.accept(loaded));
+                loading.remove(tutorId);
+                if (!load.stale) {
+                    tutors.put(tutorId, loaded);
+                }
+            }
+            load.result.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            synchronized (loading) {
+                loading.remove(tutorId);
+            }
+            load.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+    
+    private TutorAvailability load(Long tutorId) {
+        TutorAvailability availability = new TutorAvailability();
+        for (TutorSchedule schedule : tutorScheduleRepository.findByTutorIdAndAvailableTrue(tutorId)) {
+            availability.addWindow(schedule.getDayOfWeek(), schedule.getStartTime(), schedule.getEndTime());
+        }
+        for (BookingInterval booking : bookingRepository.findIntervalsByTutorId(
+                tutorId, LocalDateTime.now(), ACTIVE_STATUSES)) {
+            availability.putBooking(booking.getId(), booking.getStartTime(), booking.getEndTime());
+        }
+        
+        List<BookingSeries> series = bookingSeriesRepository.findByTutorIdAndStatusInAndEndDateGreaterThanEqual(
+                tutorId, ACTIVE_STATUSES, LocalDate.now());
+        if (!series.isEmpty()) {
+            List<Object[]> cancellations = bookingSeriesCancellationRepository.findDatesBySeriesIdIn(
+                    series.stream().map(BookingSeries::getId).toList());
+            for (Recurrence recurrence : Recurrence.ofAll(series, cancellations)) {
+                availability.putSeries(recurrence);
+            }
+        }
+        return availability;
+    }
+    
+    private static class Loading {
+        
+        private final CompletableFuture<TutorAvailability> result = new CompletableFuture<>();
+        private final List<Consumer<TutorAvailability>> missed = new ArrayList<>();
+        private boolean stale;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,180 @@
+package com.tutorconnect.service.availability;
+
+import java.util.List;
+
+// AVL tree of half-open [start, end) intervals ordered by (start, id), where every node also
+// tracks the largest end in its subtree. Overlap checks are O(log n); collecting the k
+// overlapping intervals is O(log n + k).
+class IntervalTree {
+    
+    record Interval(long start, long end, long id) {
+    }
+    
+    private static final class Node {
+        private final Interval interval;
+        private long maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+        
+        private Node(Interval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.end();
+        }
+    }
+    
+    private Node root;
+    private int size;
+    
+    void insert(long start, long end, long id) {
+        root = insert(root, new Node(new Interval(start, end, id)));
+        size++;
+    }
+    
+    boolean remove(long start, long id) {
+        int before = size;
+        root = remove(root, start, id);
+        return size < before;
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    boolean overlapsAny(long start, long end) {
+        Node node = root;
+        while (node != null) {
+            if (node.interval.start() < end && node.interval.end() > start) {
+                return true;
+            }
+            // If the left subtree reaches past start but holds no overlap, nothing to the right can either
+            node = node.left != null && node.left.maxEnd > start ? node.left : node.right;
+        }
+        return false;
+    }
+    
+    // Adds the intervals overlapping [start, end) to result, ordered by start
+    void collectOverlapping(long start, long end, List<Interval> result) {
+        collectOverlapping(root, start, end, result);
+    }
+    
+    private void collectOverlapping(Node node, long start, long end, List<Interval> result) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collectOverlapping(node.left, start, end, result);
+        if (node.interval.start() >= end) {
+            return;
+        }
+        if (node.interval.end() > start) {
+            result.add(node.interval);
+        }
+        collectOverlapping(node.right, start, end, result);
+    }
+    
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.interval.start(), added.interval.id(), node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+    
+    private Node remove(Node node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        
+        int comparison = compare(start, id, node);
+        if (comparison < 0) {
+            node.left = remove(node.left, start, id);
+        } else if (comparison > 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return rebalance(node);
+    }
+    
+    private Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+    
+    private static int compare(long start, long id, Node node) {
+        int comparison = Long.compare(start, node.interval.start());
+        return comparison != 0 ? comparison : Long.compare(id, node.interval.id());
+    }
+    
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+    
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+    
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+    
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.interval.end();
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+    
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.tutorconnect.service.availability;
+
+import com.tutorconnect.dto.TimeSlot;
+import com.tutorconnect.model.BookingSeries;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+// Immutable snapshot of a booking series' rule, expanded only within the window asked for
+public record Recurrence(Long seriesId, LocalDateTime firstStart, int durationMinutes, int intervalWeeks,
+                         LocalDate endDate, Set<LocalDate> cancelledDates) {
+    
+    public static Recurrence of(BookingSeries series, Set<LocalDate> cancelledDates) {
+        return new Recurrence(series.getId(), series.getFirstStartTime(), series.getDurationMinutes(),
+                series.getIntervalWeeks(), series.getEndDate(), Set.copyOf(cancelledDates));
+    }
+    
+    // Pairs series with their rows from BookingSeriesCancellationRepository.findDatesBySeriesIdIn
+    public static List<Recurrence> ofAll(List<BookingSeries> series, List<Object[]> cancellations) {
+        Map<Long, Set<LocalDate>> cancelledDates = new HashMap<>();
+        for (Object[] row : cancellations) {
+            cancelledDates.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((LocalDate) row[1]);
+        }
+        
+        List<Recurrence> recurrences = new ArrayList<>(series.size());
+        for (BookingSeries one : series) {
+            recurrences.add(of(one, cancelledDates.getOrDefault(one.getId(), Set.of())));
+        }
+        return recurrences;
+    }
+    
+    // Occurrences overlapping [from, to), in chronological order
+    public List<TimeSlot> occurrences(LocalDateTime from, LocalDateTime to) {
+        List<TimeSlot> occurrences = new ArrayList<>();
+        long periodMinutes = intervalWeeks * 7L * 24 * 60;
+        
+        // First occurrence that ends after from
+        long k = Math.max(0, Math.floorDiv(ChronoUnit.MINUTES.between(firstStart, from) - durationMinutes, periodMinutes) + 1);
+        for (LocalDateTime start = firstStart.plusMinutes(k * periodMinutes);
+             start.isBefore(to) && !start.toLocalDate().isAfter(endDate);
+             start = start.plusMinutes(periodMinutes)) {
+            if (!cancelledDates.contains(start.toLocalDate())) {
+                occurrences.add(new TimeSlot(start, start.plusMinutes(durationMinutes)));
+            }
+        }
+        return occurrences;
+    }
+    
+    public List<TimeSlot> allOccurrences() {
+        return occurrences(firstStart, endDate.plusDays(1).atStartOfDay());
+    }
+    
+    public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        return !occurrences(from, to).isEmpty();
+    }
+    
+    public boolean isOccurrenceDate(LocalDate date) {
+        long days = ChronoUnit.DAYS.between(firstStart.toLocalDate(), date);
+        return days >= 0 && days % (intervalWeeks * 7L) == 0 && !date.isAfter(endDate);
+    }
+}
\ No newline at end of file
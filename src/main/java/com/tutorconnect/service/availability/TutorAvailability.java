@@ -0,0 +1,121 @@
+package com.tutorconnect.service.availability;
+
+import com.tutorconnect.dto.TimeSlot;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+// Weekly schedule windows and booked intervals of one tutor. Times are stored as minutes since
+// the epoch of the (zone-less) LocalDateTime values used throughout the booking model.
+class TutorAvailability {
+    
+    private final Map<DayOfWeek, List<LocalTime[]>> weeklyWindows = new EnumMap<>(DayOfWeek.class);
+    private final IntervalTree booked = new IntervalTree();
+    
+    // booking id -> start minute, needed to locate the interval on removal
+    private final Map<Long, Long> bookingStarts = new HashMap<>();
+    
+    // Active booking series by id, expanded only within the queried range
+    private final Map<Long, Recurrence> series = new HashMap<>();
+    
+    synchronized void addWindow(DayOfWeek dayOfWeek, LocalTime start, LocalTime end) {
+        List<LocalTime[]> windows = weeklyWindows.computeIfAbsent(dayOfWeek, day -> new ArrayList<>());
+        windows.add(new LocalTime[]{start, end});
+        windows.sort(Comparator.comparing(window -> window[0]));
+    }
+    
+    synchronized void putBooking(Long bookingId, LocalDateTime start, LocalDateTime end) {
+        removeBooking(bookingId);
+        long startMinute = toMinute(start);
+        booked.insert(startMinute, toMinute(end), bookingId);
+        bookingStarts.put(bookingId, startMinute);
+    }
+    
+    synchronized void removeBooking(Long bookingId) {
+        Long startMinute = bookingStarts.remove(bookingId);
+        if (startMinute != null) {
+            booked.remove(startMinute, bookingId);
+        }
+    }
+    
+    synchronized void putSeries(Recurrence recurrence) {
+        series.put(recurrence.seriesId(), recurrence);
+    }
+    
+    synchronized void removeSeries(Long seriesId) {
+        series.remove(seriesId);
+    }
+    
+    synchronized boolean isBooked(LocalDateTime start, LocalDateTime end) {
+        if (booked.overlapsAny(toMinute(start), toMinute(end))) {
+            return true;
+        }
+        for (Recurrence recurrence : series.values()) {
+            if (recurrence.overlaps(start, end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    // Schedule windows in [from, to) minus booked intervals, in chronological order
+    synchronized List<TimeSlot> freeSlots(LocalDateTime from, LocalDateTime to) {
+        List<TimeSlot> slots = new ArrayList<>();
+        for (LocalDate day = from.toLocalDate(); !day.atStartOfDay().isAfter(to); day = day.plusDays(1)) {
+            for (LocalTime[] window : weeklyWindows.getOrDefault(day.getDayOfWeek(), Collections.emptyList())) {
+                LocalDateTime windowStart = max(day.atTime(window[0]), from);
+                LocalDateTime windowEnd = min(day.atTime(window[1]), to);
+                if (windowStart.isBefore(windowEnd)) {
+                    subtractBookings(windowStart, windowEnd, slots);
+                }
+            }
+        }
+        return slots;
+    }
+    
+    private void subtractBookings(LocalDateTime start, LocalDateTime end, List<TimeSlot> slots) {
+        List<IntervalTree.Interval> overlapping = new ArrayList<>();
+        booked.collectOverlapping(toMinute(start), toMinute(end), overlapping);
+        if (!series.isEmpty()) {
+            for (Recurrence recurrence : series.values()) {
+                for (TimeSlot occurrence : recurrence.occurrences(start, end)) {
+                    overlapping.add(new IntervalTree.Interval(
+                            toMinute(occurrence.getStart()), toMinute(occurrence.getEnd()), recurrence.seriesId()));
+                }
+            }
+            overlapping.sort(Comparator.comparingLong(IntervalTree.Interval::start));
+        }
+        
+        long cursor = toMinute(start);
+        long endMinute = toMinute(end);
+        for (IntervalTree.Interval interval : overlapping) {
+            if (interval.start() > cursor) {
+                slots.add(new TimeSlot(fromMinute(cursor), fromMinute(interval.start())));
+            }
+            cursor = Math.max(cursor, interval.end());
+        }
+        if (cursor < endMinute) {
+            slots.add(new TimeSlot(fromMinute(cursor), end));
+        }
+    }
+    
+    static long toMinute(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+    
+    static LocalDateTime fromMinute(long minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60, 0, ZoneOffset.UTC);
+    }
+    
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+    
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.tutorconnect.service.availability;
+
+import com.tutorconnect.service.TransactionHooks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Striped per-tutor locks that serialize booking writes for one tutor while writes for other
+// tutors proceed in parallel. A lock is held until the surrounding transaction completes, so the
+// next writer for the tutor sees the committed booking both in the database and in the
+// availability cache (which is updated after commit, before the lock is released).
+// Only guards writers within this instance.
+@Component
+public class TutorBookingLocks {
+    
+    private static final int STRIPES = 256;
+    
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final long timeoutMillis;
+    
+    public TutorBookingLocks(@Value("${booking.lock-timeout-ms:5000}") long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+    
+    public void lockUntilCompletion(Long tutorId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Tutor booking locks require an active transaction");
+        }
+        
+        ReentrantLock lock = locks[stripe(tutorId)];
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("Tutor is busy, please try again");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for tutor lock", e);
+        }
+        TransactionHooks.afterCompletion(lock::unlock);
+    }
+    
+    private static int stripe(Long tutorId) {
+        long hash = tutorId * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 56) & (STRIPES - 1);
+    }
+}
\ No newline at end of file
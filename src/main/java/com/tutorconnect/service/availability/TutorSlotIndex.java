@@ -0,0 +1,344 @@
+package com.tutorconnect.service.availability;
+
+import com.tutorconnect.dto.BookingInterval;
+import com.tutorconnect.dto.TutorCard;
+import com.tutorconnect.model.BookingSeries;
+import com.tutorconnect.repository.BookingRepository;
+import com.tutorconnect.repository.BookingSeriesCancellationRepository;
+import com.tutorconnect.repository.BookingSeriesRepository;
+import com.tutorconnect.repository.TutorScheduleRepository;
+import com.tutorconnect.service.search.TutorFacetIndex;
+import com.tutorconnect.service.search.TutorSortOrder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Availability of all tutors at 15-minute resolution, for "who is free at this time" queries.
+// Each of the 672 slots of a week has a bitset over TutorFacetIndex ordinals of the tutors whose
+// schedule covers the whole slot, and every booked future slot has a bitset of the tutors booked
+// in it. A query ANDs the weekly bitsets of the requested slots, removes the booked tutors and
+// intersects the result with the subject bitsets of the facet index.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TutorSlotIndex {
+    
+    static final int SLOT_MINUTES = 15;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    static final int SLOTS_PER_WEEK = 7 * SLOTS_PER_DAY;
+    
+    // Day of week of the epoch day 1970-01-01
+    private static final int EPOCH_DAY_OF_WEEK = DayOfWeek.THURSDAY.ordinal();
+    
+    private final TutorFacetIndex tutorFacetIndex;
+    private final TutorScheduleRepository tutorScheduleRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingSeriesRepository bookingSeriesRepository;
+    private final BookingSeriesCancellationRepository bookingSeriesCancellationRepository;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    // Monday 00:00 is weekly slot 0
+    private final BitSet[] scheduled = emptyWeek();
+    
+    // Slots are numbered from the epoch, so elapsed ones can be dropped as a head map
+    private final TreeMap<Long, BitSet> booked = new TreeMap<>();
+    
+    // booking id -> tutor ordinal and slots, so the bits can be cleared when the booking ends
+    private final Map<Long, BookedSlots> bookings = new HashMap<>();
+    private final Map<Integer, Set<Long>> bookingsByOrdinal = new HashMap<>();
+    
+    // Booking series are not expanded into slots; a query checks the few tutors that have one
+    private final Map<Integer, Map<Long, Recurrence>> seriesByOrdinal = new HashMap<>();
+    private final Map<Long, Integer> seriesOrdinals = new HashMap<>();
+    
+    // Uses facet ordinals, so it has to load after the search indexes (see TutorSearchService)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.nanoTime();
+        List<Object[]> windows = tutorScheduleRepository.findAvailableWindows();
+        List<BookingInterval> intervals = bookingRepository.findIntervals(
+                LocalDateTime.now(), AvailabilityService.ACTIVE_STATUSES);
+        List<BookingSeries> series = bookingSeriesRepository.findByStatusInAndEndDateGreaterThanEqual(
+                AvailabilityService.ACTIVE_STATUSES, LocalDate.now());
+        List<Recurrence> recurrences = series.isEmpty() ? List.of() : Recurrence.ofAll(series,
+                bookingSeriesCancellationRepository.findDatesBySeriesIdIn(series.stream().map(BookingSeries::getId).toList()));
+        
+        lock.writeLock().lock();
+        try {
+            for (BitSet tutors : scheduled) {
+                tutors.clear();
+            }
+            booked.clear();
+            bookings.clear();
+            bookingsByOrdinal.clear();
+            seriesByOrdinal.clear();
+            seriesOrdinals.clear();
+            
+            for (Object[] window : windows) {
+                int ordinal = tutorFacetIndex.ordinalOf((Long) window[0]);
+                if (ordinal >= 0) {
+                    setWindow(ordinal, (DayOfWeek) window[1], (LocalTime) window[2], (LocalTime) window[3]);
+                }
+            }
+            for (BookingInterval interval : intervals) {
+                putBooking(interval.getId(), interval.getTutorId(), interval.getStartTime(), interval.getEndTime());
+            }
+            for (int i = 0; i < recurrences.size(); i++) {
+                putSeries(recurrences.get(i), series.get(i).getTutor().getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        
+        log.info("Indexed {} schedule windows and {} bookings into availability slots in {} ms",
+                windows.size(), intervals.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    // Re-reads one tutor's weekly schedule after it was created or edited. Called from after-commit
+    // hooks once the tutor has a facet ordinal, so it reads in a transaction of its own.
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void scheduleChanged(Long tutorId) {
+        int ordinal = tutorFacetIndex.ordinalOf(tutorId);
+        if (ordinal < 0) {
+            return;
+        }
+        List<Object[]> windows = tutorScheduleRepository.findAvailableWindowsByTutorId(tutorId);
+        
+        lock.writeLock().lock();
+        try {
+            for (BitSet tutors : scheduled) {
+                tutors.clear(ordinal);
+            }
+            for (Object[] window : windows) {
+                setWindow(ordinal, (DayOfWeek) window[1], (LocalTime) window[2], (LocalTime) window[3]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void bookingChanged(Long bookingId, Long tutorId, LocalDateTime start, LocalDateTime end, boolean active) {
+        lock.writeLock().lock();
+        try {
+            removeBooking(bookingId);
+            if (active) {
+                putBooking(bookingId, tutorId, start, end);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void seriesChanged(Recurrence recurrence, Long tutorId, boolean active) {
+        lock.writeLock().lock();
+        try {
+            removeSeries(recurrence.seriesId());
+            if (active) {
+                putSeries(recurrence, tutorId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Tutors whose schedule covers every slot touched by [start, end) and who have no booking in
+    // any of them, restricted to the given subjects
+    public List<TutorCard> findFreeTutors(LocalDateTime start, LocalDateTime end, Collection<Long> subjectIds,
+                                          TutorSortOrder sortOrder, int limit) {
+        long firstSlot = firstSlot(start);
+        long endSlot = endSlot(end);
+        
+        BitSet free;
+        lock.readLock().lock();
+        try {
+            free = (BitSet) scheduled[weeklySlot(firstSlot)].clone();
+            for (long slot = firstSlot; slot < endSlot && !free.isEmpty(); slot++) {
+                free.and(scheduled[weeklySlot(slot)]);
+                BitSet bookedTutors = booked.get(slot);
+                if (bookedTutors != null) {
+                    free.andNot(bookedTutors);
+                }
+            }
+            
+            LocalDateTime from = TutorAvailability.fromMinute(firstSlot * SLOT_MINUTES);
+            LocalDateTime to = TutorAvailability.fromMinute(endSlot * SLOT_MINUTES);
+            for (Map.Entry<Integer, Map<Long, Recurrence>> entry : seriesByOrdinal.entrySet()) {
+                if (free.get(entry.getKey()) && hasOccurrence(entry.getValue().values(), from, to)) {
+                    free.clear(entry.getKey());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        return tutorFacetIndex.findAmong(free, subjectIds, sortOrder, limit);
+    }
+    
+    @Scheduled(fixedDelayString = "${availability.prune-interval-ms:3600000}")
+    public void pruneElapsed() {
+        long currentSlot = firstSlot(LocalDateTime.now());
+        
+        lock.writeLock().lock();
+        try {
+            booked.headMap(currentSlot).clear();
+            Iterator<Map.Entry<Long, BookedSlots>> entries = bookings.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<Long, BookedSlots> entry = entries.next();
+                if (entry.getValue().endSlot() <= currentSlot) {
+                    entries.remove();
+                    forgetBooking(entry.getValue().ordinal(), entry.getKey());
+                }
+            }
+            
+            LocalDate today = LocalDate.now();
+            List<Long> endedSeries = new ArrayList<>();
+            for (Map<Long, Recurrence> tutorSeries : seriesByOrdinal.values()) {
+                for (Recurrence recurrence : tutorSeries.values()) {
+                    if (recurrence.endDate().isBefore(today)) {
+                        endedSeries.add(recurrence.seriesId());
+                    }
+                }
+            }
+            endedSeries.forEach(this::removeSeries);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void setWindow(int ordinal, DayOfWeek dayOfWeek, LocalTime start, LocalTime end) {
+        // Only slots that lie completely inside the window count as available
+        int dayOffset = dayOfWeek.ordinal() * SLOTS_PER_DAY;
+        int from = Math.floorDiv(start.toSecondOfDay() / 60 + SLOT_MINUTES - 1, SLOT_MINUTES);
+        int to = end.toSecondOfDay() / 60 / SLOT_MINUTES;
+        for (int slot = from; slot < to; slot++) {
+            scheduled[dayOffset + slot].set(ordinal);
+        }
+    }
+    
+    private void putBooking(Long bookingId, Long tutorId, LocalDateTime start, LocalDateTime end) {
+        int ordinal = tutorFacetIndex.ordinalOf(tutorId);
+        if (ordinal < 0) {
+            return;
+        }
+        BookedSlots slots = new BookedSlots(ordinal, firstSlot(start), endSlot(end));
+        bookings.put(bookingId, slots);
+        bookingsByOrdinal.computeIfAbsent(ordinal, key -> new HashSet<>()).add(bookingId);
+        markBooked(ordinal, slots.firstSlot(), slots.endSlot());
+    }
+    
+    private void removeBooking(Long bookingId) {
+        BookedSlots slots = bookings.remove(bookingId);
+        if (slots == null) {
+            return;
+        }
+        forgetBooking(slots.ordinal(), bookingId);
+        
+        int ordinal = slots.ordinal();
+        for (long slot = slots.firstSlot(); slot < slots.endSlot(); slot++) {
+            BitSet bookedTutors = booked.get(slot);
+            if (bookedTutors != null) {
+                bookedTutors.clear(ordinal);
+                if (bookedTutors.isEmpty()) {
+                    booked.remove(slot);
+                }
+            }
+        }
+        
+        // Bookings are not aligned to slots, so a neighbouring booking may share a boundary slot
+        for (Long otherId : bookingsByOrdinal.getOrDefault(ordinal, Collections.emptySet())) {
+            BookedSlots other = bookings.get(otherId);
+            long from = Math.max(other.firstSlot(), slots.firstSlot());
+            long to = Math.min(other.endSlot(), slots.endSlot());
+            if (from < to) {
+                markBooked(ordinal, from, to);
+            }
+        }
+    }
+    
+    private void putSeries(Recurrence recurrence, Long tutorId) {
+        int ordinal = tutorFacetIndex.ordinalOf(tutorId);
+        if (ordinal < 0) {
+            return;
+        }
+        seriesOrdinals.put(recurrence.seriesId(), ordinal);
+        seriesByOrdinal.computeIfAbsent(ordinal, key -> new HashMap<>()).put(recurrence.seriesId(), recurrence);
+    }
+    
+    private void removeSeries(Long seriesId) {
+        Integer ordinal = seriesOrdinals.remove(seriesId);
+        if (ordinal == null) {
+            return;
+        }
+        Map<Long, Recurrence> tutorSeries = seriesByOrdinal.get(ordinal);
+        tutorSeries.remove(seriesId);
+        if (tutorSeries.isEmpty()) {
+            seriesByOrdinal.remove(ordinal);
+        }
+    }
+    
+    private static boolean hasOccurrence(Collection<Recurrence> recurrences, LocalDateTime from, LocalDateTime to) {
+        for (Recurrence recurrence : recurrences) {
+            if (recurrence.overlaps(from, to)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void forgetBooking(int ordinal, Long bookingId) {
+        Set<Long> ids = bookingsByOrdinal.get(ordinal);
+        if (ids != null) {
+            ids.remove(bookingId);
+            if (ids.isEmpty()) {
+                bookingsByOrdinal.remove(ordinal);
+            }
+        }
+    }
+    
+    private void markBooked(int ordinal, long firstSlot, long endSlot) {
+        for (long slot = firstSlot; slot < endSlot; slot++) {
+            booked.computeIfAbsent(slot, key -> new BitSet()).set(ordinal);
+        }
+    }
+    
+    private static long firstSlot(LocalDateTime time) {
+        return Math.floorDiv(TutorAvailability.toMinute(time), SLOT_MINUTES);
+    }
+    
+    // Exclusive; a booking or query ending inside a slot still occupies it
+    private static long endSlot(LocalDateTime time) {
+        return Math.floorDiv(TutorAvailability.toMinute(time) + SLOT_MINUTES - 1, SLOT_MINUTES);
+    }
+    
+    private static int weeklySlot(long slot) {
+        long day = Math.floorDiv(slot, SLOTS_PER_DAY);
+        int dayOfWeek = (int) Math.floorMod(day + EPOCH_DAY_OF_WEEK, 7);
+        return dayOfWeek * SLOTS_PER_DAY + (int) Math.floorMod(slot, SLOTS_PER_DAY);
+    }
+    
+    private static BitSet[] emptyWeek() {
+        BitSet[] week = new BitSet[SLOTS_PER_WEEK];
+        for (int i = 0; i < week.length; i++) {
+            week[i] = new BitSet();
+        }
+        return week;
+    }
+    
+    private record BookedSlots(int ordinal, long firstSlot, long endSlot) {
+    }
+}
\ No newline at end of file
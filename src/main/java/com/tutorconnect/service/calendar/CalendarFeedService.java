@@ -0,0 +1,150 @@
+package com.tutorconnect.service.calendar;
+
+import com.tutorconnect.dto.CalendarEventRow;
+import com.tutorconnect.dto.SeriesOccurrence;
+import com.tutorconnect.model.Booking;
+import com.tutorconnect.model.User;
+import com.tutorconnect.repository.BookingRepository;
+import com.tutorconnect.repository.BookingSeriesRepository;
+import com.tutorconnect.service.BookingSeriesService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Renders a user's sessions as an iCalendar feed for calendar apps. Booking rows are streamed
+// from a database cursor straight into the response, and the ETag is derived from a few
+// aggregates, so re-polling an unchanged feed costs two small queries and a 304.
+@Service
+public class CalendarFeedService {
+    
+    // Sessions that ended longer ago than this are left out of the feed
+    private static final int PAST_DAYS = 30;
+    
+    // Series occurrences are expanded this far ahead
+    private static final int SERIES_HORIZON_DAYS = 180;
+    
+    private final BookingRepository bookingRepository;
+    private final BookingSeriesRepository bookingSeriesRepository;
+    private final BookingSeriesService bookingSeriesService;
+    private final TransactionTemplate readOnlyTransaction;
+    
+    public CalendarFeedService(BookingRepository bookingRepository,
+                               BookingSeriesRepository bookingSeriesRepository,
+                               BookingSeriesService bookingSeriesService,
+                               PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.bookingSeriesRepository = bookingSeriesRepository;
+        this.bookingSeriesService = bookingSeriesService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+    
+    public String etag(User user) {
+        LocalDate today = LocalDate.now();
+        LocalDateTime since = today.minusDays(PAST_DAYS).atStartOfDay();
+        
+        List<Object[]> bookings = user.isTutor()
+                ? bookingRepository.summarizeByTutorId(user.getId(), since)
+                : bookingRepository.summarizeByStudentId(user.getId(), since);
+        List<Object[]> series = user.isTutor()
+                ? bookingSeriesRepository.summarizeByTutorId(user.getId(), since.toLocalDate())
+                : bookingSeriesRepository.summarizeByStudentId(user.getId(), since.toLocalDate());
+        
+        // The feed window moves daily, so the day is part of the fingerprint
+        String fingerprint = user.getId() + "|" + today + "|"
+                + Arrays.toString(bookings.get(0)) + "|" + Arrays.toString(series.get(0));
+        return "\"" + sha256(fingerprint).substring(0, 32) + "\"";
+    }
+    
+    // Runs in its own read-only transaction, because the response body is written after the
+    // controller has returned
+    public void write(User user, OutputStream outputStream) {
+        LocalDateTime since = LocalDate.now().minusDays(PAST_DAYS).atStartOfDay();
+        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        ICalendarWriter calendar = new ICalendarWriter(writer);
+        
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try {
+                calendar.begin("TutorConnect sessions");
+                try (Stream<CalendarEventRow> rows = user.isTutor()
+                        ? bookingRepository.streamCalendarRowsByTutorId(user.getId(), since)
+                        : bookingRepository.streamCalendarRowsByStudentId(user.getId(), since)) {
+                    for (CalendarEventRow row : (Iterable<CalendarEventRow>) rows::iterator) {
+                        writeBooking(calendar, row, user);
+                    }
+                }
+                
+                LocalDateTime until = since.plusDays(PAST_DAYS + SERIES_HORIZON_DAYS);
+                List<SeriesOccurrence> occurrences = user.isTutor()
+                        ? bookingSeriesService.findOccurrencesByTutorId(user.getId(), since, until)
+                        : bookingSeriesService.findOccurrencesByStudentId(user.getId(), since, until);
+                LocalDateTime generatedAt = LocalDateTime.now();
+                for (SeriesOccurrence occurrence : occurrences) {
+                    writeOccurrence(calendar, occurrence, user, generatedAt);
+                }
+                calendar.end();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+    
+    private static void writeBooking(ICalendarWriter calendar, CalendarEventRow row, User user) throws IOException {
+        String otherParty = user.isTutor() ? row.getStudentName() : row.getTutorName();
+        calendar.event(
+                "booking-" + row.getId() + "@tutorconnect",
+                row.getUpdatedAt() != null ? row.getUpdatedAt() : row.getCreatedAt(),
+                row.getStartTime(),
+                row.getEndTime(),
+                row.getSubjectName() + " with " + otherParty,
+                row.getMeetingLink() != null ? "Join: " + row.getMeetingLink() : null,
+                row.getMeetingLink(),
+                eventStatus(row.getStatus()));
+    }
+    
+    private static void writeOccurrence(ICalendarWriter calendar, SeriesOccurrence occurrence, User user,
+                                        LocalDateTime generatedAt) throws IOException {
+        String otherParty = user.isTutor() ? occurrence.getStudentName() : occurrence.getTutorName();
+        calendar.event(
+                "series-" + occurrence.getSeriesId() + "-" + occurrence.getStartTime().toLocalDate() + "@tutorconnect",
+                generatedAt,
+                occurrence.getStartTime(),
+                occurrence.getEndTime(),
+                occurrence.getSubjectName() + " with " + otherParty,
+                "Weekly session",
+                null,
+                eventStatus(occurrence.getStatus()));
+    }
+    
+    private static String eventStatus(Booking.BookingStatus status) {
+        return switch (status) {
+            case PENDING -> "TENTATIVE";
+            case CONFIRMED, COMPLETED -> "CONFIRMED";
+            default -> "CANCELLED";
+        };
+    }
+    
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
\ No newline at end of file
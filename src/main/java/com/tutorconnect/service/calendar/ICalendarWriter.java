@@ -0,0 +1,83 @@
+package com.tutorconnect.service.calendar;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+// Minimal RFC 5545 writer: CRLF line endings, escaped text values and lines folded at 75 octets
+final class ICalendarWriter {
+    
+    private static final DateTimeFormatter LOCAL_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int MAX_LINE_OCTETS = 75;
+    
+    private final Writer out;
+    
+    ICalendarWriter(Writer out) {
+        this.out = out;
+    }
+    
+    void begin(String calendarName) throws IOException {
+        line("BEGIN", "VCALENDAR");
+        line("VERSION", "2.0");
+        line("PRODID", "-//TutorConnect//Sessions//EN");
+        line("CALSCALE", "GREGORIAN");
+        line("METHOD", "PUBLISH");
+        line("X-WR-CALNAME", escape(calendarName));
+    }
+    
+    // Start and end are written as floating local times, like they are stored
+    void event(String uid, LocalDateTime stamp, LocalDateTime start, LocalDateTime end,
+               String summary, String description, String location, String status) throws IOException {
+        line("BEGIN", "VEVENT");
+        line("UID", uid);
+        line("DTSTAMP", stamp.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).format(UTC_TIME));
+        line("DTSTART", start.format(LOCAL_TIME));
+        line("DTEND", end.format(LOCAL_TIME));
+        line("SUMMARY", escape(summary));
+        if (description != null) {
+            line("DESCRIPTION", escape(description));
+        }
+        if (location != null) {
+            line("LOCATION", escape(location));
+        }
+        line("STATUS", status);
+        line("END", "VEVENT");
+    }
+    
+    void end() throws IOException {
+        line("END", "VCALENDAR");
+        out.flush();
+    }
+    
+    private void line(String name, String value) throws IOException {
+        String content = name + ":" + value;
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int charCount = Character.charCount(codePoint);
+            int size = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8).length;
+            if (octets + size > MAX_LINE_OCTETS) {
+                // Continuation lines start with a space, which counts towards their length
+                out.write("\r\n ");
+                octets = 1;
+            }
+            out.write(content, i, charCount);
+            octets += size;
+            i += charCount;
+        }
+        out.write("\r\n");
+    }
+    
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+}
\ No newline at end of file
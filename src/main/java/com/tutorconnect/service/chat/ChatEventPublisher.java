@@ -0,0 +1,29 @@
+package com.tutorconnect.service.chat;
+
+import com.tutorconnect.dto.MessageReceipt;
+import com.tutorconnect.dto.MessageView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+// Pushes chat events to the STOMP user queues; users are addressed by email, which is the
+// principal name set when the connection authenticated
+@Component
+@RequiredArgsConstructor
+public class ChatEventPublisher {
+    
+    public static final String MESSAGES_QUEUE = "/queue/messages";
+    public static final String RECEIPTS_QUEUE = "/queue/receipts";
+    
+    private final SimpMessagingTemplate messagingTemplate;
+    
+    // The sender gets the message too, so their other open sessions and the sending tab learn its id
+    public void messageSent(MessageView message, String senderEmail, String recipientEmail) {
+        messagingTemplate.convertAndSendToUser(recipientEmail, MESSAGES_QUEUE, message);
+        messagingTemplate.convertAndSendToUser(senderEmail, MESSAGES_QUEUE, message);
+    }
+    
+    public void receipt(MessageReceipt receipt, String senderEmail) {
+        messagingTemplate.convertAndSendToUser(senderEmail, RECEIPTS_QUEUE, receipt);
+    }
+}
\ No newline at end of file
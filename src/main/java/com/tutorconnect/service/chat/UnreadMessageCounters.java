@@ -0,0 +1,171 @@
+package com.tutorconnect.service.chat;
+
+import com.tutorconnect.dto.UnreadMessageCounts;
+import com.tutorconnect.repository.MessageRepository;
+import com.tutorconnect.service.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-user unread message counts by chat room, loaded with one grouped query and then kept
+// current from committed message writes. All changes to a user's entry go through the map's
+// per-key compute and give it a new version; a load is only kept if the version did not change
+// while it ran and no write of the user was in flight, so no change is lost or counted twice.
+// Entries are reloaded after the TTL, which also picks up writes made on other nodes, and the
+// least recently used ones are evicted when the cache is full.
+@Component
+@RequiredArgsConstructor
+public class UnreadMessageCounters {
+    
+    private final MessageRepository messageRepository;
+    
+    private final Map<Long, Entry> cache = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    
+    @Value("${chat.unread-cache.max-users:50000}")
+    private int maxUsers;
+    
+    @Value("${chat.unread-cache.ttl-ms:60000}")
+    private long ttlMs;
+    
+    public UnreadMessageCounts get(Long userId) {
+        long now = System.currentTimeMillis();
+        Entry cached = cache.get(userId);
+        if (cached != null && cached.loaded && now - cached.loadedAt < ttlMs) {
+            cached.lastUsed = now;
+            return toCounts(cached.rooms);
+        }
+        if (cached == null && cache.size() >= maxUsers) {
+            evict();
+        }
+        
+        long[] version = new long[1];
+        Entry entry = cache.compute(userId, (id, current) -> {
+            Entry started = current != null ? current : new Entry(versions.incrementAndGet());
+            started.loads++;
+            started.lastUsed = now;
+            version[0] = started.version;
+            return started;
+        });
+        
+        Map<Long, Integer> rooms = null;
+        try {
+            rooms = load(userId);
+        } finally {
+            Map<Long, Integer> loaded = rooms;
+            cache.computeIfPresent(userId, (id, current) -> {
+                if (current != entry) {
+                    return current;
+                }
+                current.loads--;
+                if (loaded != null && current.version == version[0] && current.pendingWrites == 0) {
+                    current.rooms = new ConcurrentHashMap<>(loaded);
+                    current.loaded = true;
+                    current.loadedAt = now;
+                }
+                return current;
+            });
+        }
+        return toCounts(rooms);
+    }
+    
+    // Called in a transaction that changes the user's unread messages, before the change is made.
+    // Until the transaction completes no load of the user is kept, because a load cannot tell
+    // whether it already saw the change that messageReceived or messagesRead then applies.
+    public void writing(Long userId) {
+        cache.compute(userId, (id, current) -> {
+            Entry entry = current != null ? current : new Entry(versions.incrementAndGet());
+            entry.pendingWrites++;
+            entry.version = versions.incrementAndGet();
+            return entry;
+        });
+        // Runs after the afterCommit changes of the same transaction
+        TransactionHooks.afterCompletion(() -> cache.computeIfPresent(userId, (id, entry) -> {
+            entry.pendingWrites--;
+            return entry.pendingWrites == 0 && entry.loads == 0 && !entry.loaded ? null : entry;
+        }));
+    }
+    
+    public void messageReceived(Long userId, Long chatRoomId) {
+        change(userId, chatRoomId, 1);
+    }
+    
+    // Takes off exactly the rows the read marked, so messages that arrived meanwhile stay counted
+    public void messagesRead(Long userId, Long chatRoomId, int count) {
+        if (count > 0) {
+            change(userId, chatRoomId, -count);
+        }
+    }
+    
+    public int size() {
+        return cache.size();
+    }
+    
+    private void change(Long userId, Long chatRoomId, int delta) {
+        cache.computeIfPresent(userId, (id, entry) -> {
+            entry.version = versions.incrementAndGet();
+            if (entry.loaded) {
+                entry.rooms.compute(chatRoomId, (roomId, count) -> {
+                    int updated = (count != null ? count : 0) + delta;
+                    return updated > 0 ? updated : null;
+                });
+            }
+            return entry;
+        });
+    }
+    
+    // Drops the least recently used tenth of the idle entries; entries with a load or a write in
+    // flight are kept
+    private void evict() {
+        List<Long> oldest = cache.entrySet().stream()
+                .filter(e -> e.getValue().isIdle())
+                .sorted(Comparator.comparingLong(e -> e.getValue().lastUsed))
+                .limit(Math.max(1, maxUsers / 10))
+                .map(Map.Entry::getKey)
+                .toList();
+        for (Long userId : oldest) {
+            cache.computeIfPresent(userId, (id, entry) -> entry.isIdle() ? null : entry);
+        }
+    }
+    
+    private Map<Long, Integer> load(Long userId) {
+        Map<Long, Integer> rooms = new HashMap<>();
+        for (Object[] row : messageRepository.countUnreadByChatRoom(userId)) {
+            rooms.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        return rooms;
+    }
+    
+    private static UnreadMessageCounts toCounts(Map<Long, Integer> rooms) {
+        Map<Long, Integer> byChatRoom = new HashMap<>(rooms);
+        int total = byChatRoom.values().stream().mapToInt(Integer::intValue).sum();
+        return new UnreadMessageCounts(total, byChatRoom);
+    }
+    
+    // Changed only inside the map's compute for its key; the fields read outside it are volatile
+    private static class Entry {
+        
+        private volatile Map<Long, Integer> rooms = new ConcurrentHashMap<>();
+        private volatile boolean loaded;
+        private volatile long loadedAt;
+        private volatile long lastUsed;
+        private long version;
+        private int loads;
+        private int pendingWrites;
+        
+        Entry(long version) {
+            this.version = version;
+        }
+        
+        boolean isIdle() {
+            return loads == 0 && pendingWrites == 0;
+        }
+    }
+}
\ No newline at end of file
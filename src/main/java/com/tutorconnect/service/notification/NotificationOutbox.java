@@ -0,0 +1,78 @@
+package com.tutorconnect.service.notification;
+
+import com.tutorconnect.model.Notification;
+import com.tutorconnect.model.NotificationOutboxEvent;
+import com.tutorconnect.model.User;
+import com.tutorconnect.repository.NotificationOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
+// Records notifications as outbox rows in the caller's transaction, so they are delivered
+// exactly when the change they report commits; NotificationOutboxDispatcher creates and
+// pushes them in the background. Notifications of digest types are deferred to the next digest
+// run, so they reach the user as one notification per type instead of one per event.
+@Component
+@RequiredArgsConstructor
+public class NotificationOutbox {
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO notification_outbox (recipient_id, title, message, type, link, created_at, status, " +
+            "next_attempt_at, deferred, attempts) VALUES (?, ?, ?, ?, ?, ?, 'PENDING', ?, ?, 0)";
+    
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Value("${notifications.digest.types:}")
+    private Set<Notification.NotificationType> digestTypes;
+    
+    @Value("${notifications.digest.interval-ms:3600000}")
+    private long digestIntervalMs;
+    
+    @Transactional
+    public void enqueue(User recipient, String title, String message, Notification.NotificationType type, String link) {
+        NotificationOutboxEvent event = new NotificationOutboxEvent(recipient.getId(), title, message, type, link);
+        if (digestTypes.contains(type)) {
+            event.setDeferred(true);
+            event.setNextAttemptAt(nextDigestAt());
+        }
+        notificationOutboxRepository.save(event);
+    }
+    
+    // Inserts all notifications in one JDBC batch; only the users' ids need to be set
+    @Transactional
+    public void enqueueAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp digestAt = Timestamp.valueOf(nextDigestAt());
+        jdbcTemplate.batchUpdate(INSERT_SQL, notifications.stream()
+                .map(notification -> new Object[]{
+                        notification.getUser().getId(),
+                        notification.getTitle(),
+                        notification.getMessage(),
+                        notification.getType().name(),
+                        notification.getLink(),
+                        Timestamp.valueOf(notification.getCreatedAt()),
+                        digestTypes.contains(notification.getType()) ? digestAt : now,
+                        digestTypes.contains(notification.getType())})
+                .toList());
+    }
+    
+    // Digest runs fall on multiples of the interval, so all deferred events of one period share
+    // a due time and are claimed together
+    private LocalDateTime nextDigestAt() {
+        long next = (System.currentTimeMillis() / digestIntervalMs + 1) * digestIntervalMs;
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(next), ZoneId.systemDefault());
+    }
+}
\ No newline at end of file
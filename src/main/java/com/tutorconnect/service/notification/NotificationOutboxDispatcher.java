@@ -0,0 +1,295 @@
+package com.tutorconnect.service.notification;
+
+import com.tutorconnect.dto.OutboxStats;
+import com.tutorconnect.model.Notification;
+import com.tutorconnect.model.NotificationOutboxEvent;
+import com.tutorconnect.repository.NotificationOutboxRepository;
+import com.tutorconnect.repository.UserRepository;
+import com.tutorconnect.service.NotificationService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drains the notification outbox. Each run claims batches of due events in short transactions
+// that lease them, then delivers every recipient's events in order on a bounded pool, each
+// event in its own transaction that creates the notification and deletes the outbox row.
+// A failed event is retried with exponential backoff and holds back the later events of its
+// recipient; after the last attempt it is kept as FAILED for inspection. Deferred digest
+// events that come due together are delivered as one notification per type.
+@Slf4j
+@Component
+public class NotificationOutboxDispatcher {
+    
+    private static final int MAX_ERROR_LENGTH = 500;
+    
+    private final NotificationOutboxRepository notificationOutboxRepository;
+    private final NotificationService notificationService;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final ThreadPoolExecutor executor;
+    
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    
+    private volatile long lastLagMillis;
+    private volatile LocalDateTime lastRunStartedAt;
+    private volatile long lastRunMillis;
+    private volatile int lastRunDelivered;
+    private volatile String lastError;
+    
+    public NotificationOutboxDispatcher(NotificationOutboxRepository notificationOutboxRepository,
+                                        NotificationService notificationService,
+                                        UserRepository userRepository,
+                                        TransactionTemplate transactionTemplate,
+                                        @Value("${notifications.outbox.batch-size:200}") int batchSize,
+                                        @Value("${notifications.outbox.max-attempts:8}") int maxAttempts,
+                                        @Value("${notifications.outbox.lease-seconds:60}") long leaseSeconds,
+                                        @Value("${notifications.outbox.initial-backoff-ms:1000}") long initialBackoffMs,
+                                        @Value("${notifications.outbox.threads:4}") int threads) {
+        this.notificationOutboxRepository = notificationOutboxRepository;
+        this.notificationService = notificationService;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.initialBackoff = Duration.ofMillis(initialBackoffMs);
+        
+        // When the queue is full the polling thread delivers itself, which slows claiming down
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(batchSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "notification-outbox-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+    
+    // The first poll waits one interval too, so it does not compete with startup
+    @Scheduled(initialDelayString = "${notifications.outbox.poll-interval-ms:500}",
+               fixedDelayString = "${notifications.outbox.poll-interval-ms:500}")
+    public void dispatch() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        
+        long started = System.nanoTime();
+        lastRunStartedAt = LocalDateTime.now();
+        AtomicInteger runDelivered = new AtomicInteger();
+        try {
+            List<NotificationOutboxEvent> batch;
+            do {
+                batch = transactionTemplate.execute(status -> claim());
+                if (batch.isEmpty()) {
+                    break;
+                }
+                deliver(batch, runDelivered);
+            } while (batch.size() == batchSize);
+            lastError = null;
+        } catch (RuntimeException e) {
+            lastError = e.getMessage();
+            log.warn("Notification outbox dispatch failed", e);
+        } finally {
+            lastRunDelivered = runDelivered.get();
+            lastRunMillis = (System.nanoTime() - started) / 1_000_000;
+            running.set(false);
+        }
+    }
+    
+    public OutboxStats getStats() {
+        return new OutboxStats(
+                notificationOutboxRepository.countByStatus(NotificationOutboxEvent.Status.PENDING),
+                notificationOutboxRepository.countByStatus(NotificationOutboxEvent.Status.FAILED),
+                notificationOutboxRepository.findOldestCreatedAt(NotificationOutboxEvent.Status.PENDING),
+                delivered.get(),
+                retried.get(),
+                deadLettered.get(),
+                lastLagMillis,
+                maxLagMillis.get(),
+                lastRunStartedAt,
+                lastRunMillis,
+                lastRunDelivered,
+                lastError);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+    
+    // Leased events are skipped by other runs until the lease runs out, so a dispatcher that dies
+    // mid-batch only delays its events
+    private List<NotificationOutboxEvent> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationOutboxEvent> batch = keepInOrder(
+                notificationOutboxRepository.findDueForUpdate(
+                        NotificationOutboxEvent.Status.PENDING, now, PageRequest.of(0, batchSize)));
+        if (!batch.isEmpty()) {
+            List<Long> ids = new ArrayList<>(batch.size());
+            for (NotificationOutboxEvent event : batch) {
+                ids.add(event.getId());
+            }
+            notificationOutboxRepository.lease(ids, now.plus(lease));
+        }
+        return batch;
+    }
+    
+    // SKIP LOCKED passes over an older event that another dispatcher has locked but not leased
+    // yet, and findDueForUpdate cannot tell it is taken. Such an event is still waiting, so
+    // every event of its recipient after it is dropped from this batch and left for a later run.
+    private List<NotificationOutboxEvent> keepInOrder(List<NotificationOutboxEvent> batch) {
+        if (batch.isEmpty()) {
+            return batch;
+        }
+        Set<Long> recipientIds = new HashSet<>();
+        List<Long> batchIds = new ArrayList<>(batch.size());
+        for (NotificationOutboxEvent event : batch) {
+            recipientIds.add(event.getRecipientId());
+            batchIds.add(event.getId());
+        }
+        Map<Long, Long> firstWaiting = new HashMap<>();
+        for (Object[] row : notificationOutboxRepository.findFirstWaitingOutside(
+                NotificationOutboxEvent.Status.PENDING, recipientIds, batchIds)) {
+            firstWaiting.put((Long) row[0], (Long) row[1]);
+        }
+        if (firstWaiting.isEmpty()) {
+            return batch;
+        }
+        
+        List<NotificationOutboxEvent> kept = new ArrayList<>(batch.size());
+        for (NotificationOutboxEvent event : batch) {
+            Long waiting = firstWaiting.get(event.getRecipientId());
+            if (waiting == null || event.getId() < waiting) {
+                kept.add(event);
+            }
+        }
+        return kept;
+    }
+    
+    private void deliver(List<NotificationOutboxEvent> batch, AtomicInteger runDelivered) {
+        Map<Long, List<NotificationOutboxEvent>> byRecipient = new LinkedHashMap<>();
+        for (NotificationOutboxEvent event : batch) {
+            byRecipient.computeIfAbsent(event.getRecipientId(), id -> new ArrayList<>()).add(event);
+        }
+        
+        List<Future<?>> tasks = new ArrayList<>(byRecipient.size());
+        for (List<NotificationOutboxEvent> events : byRecipient.values()) {
+            tasks.add(executor.submit(() -> deliverInOrder(events, runDelivered)));
+        }
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while delivering notifications", e);
+            } catch (ExecutionException e) {
+                log.warn("Notification delivery task failed", e.getCause());
+            }
+        }
+    }
+    
+    private void deliverInOrder(List<NotificationOutboxEvent> events, AtomicInteger runDelivered) {
+        for (List<NotificationOutboxEvent> group : groupDigests(events)) {
+            NotificationOutboxEvent latest = group.get(group.size() - 1);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    notificationService.deliver(
+                            userRepository.getReferenceById(latest.getRecipientId()),
+                            latest.getTitle(),
+                            latest.getMessage(),
+                            latest.getType(),
+                            latest.getLink(),
+                            group.size());
+                    for (NotificationOutboxEvent event : group) {
+                        notificationOutboxRepository.deleteEvent(event.getId());
+                    }
+                });
+            } catch (RuntimeException e) {
+                // The remaining events keep their lease and follow once this one is delivered
+                fail(group.get(0), e);
+                return;
+            }
+            
+            LocalDateTime now = LocalDateTime.now();
+            for (NotificationOutboxEvent event : group) {
+                long lag = Duration.between(event.getCreatedAt(), now).toMillis();
+                lastLagMillis = lag;
+                maxLagMillis.accumulateAndGet(lag, Math::max);
+            }
+            delivered.addAndGet(group.size());
+            runDelivered.addAndGet(group.size());
+        }
+    }
+    
+    // Every event becomes its own notification, except deferred digest events, which are folded
+    // into one notification per type at the position of that type's first event
+    private List<List<NotificationOutboxEvent>> groupDigests(List<NotificationOutboxEvent> events) {
+        List<List<NotificationOutboxEvent>> groups = new ArrayList<>(events.size());
+        Map<Notification.NotificationType, List<NotificationOutboxEvent>> digests = new EnumMap<>(Notification.NotificationType.class);
+        for (NotificationOutboxEvent event : events) {
+            if (!event.isDeferred()) {
+                groups.add(List.of(event));
+                continue;
+            }
+            List<NotificationOutboxEvent> digest = digests.get(event.getType());
+            if (digest == null) {
+                digest = new ArrayList<>();
+                digests.put(event.getType(), digest);
+                groups.add(digest);
+            }
+            digest.add(event);
+        }
+        return groups;
+    }
+    
+    private void fail(NotificationOutboxEvent event, RuntimeException e) {
+        int attempts = event.getAttempts() + 1;
+        String error = e.getMessage() != null && e.getMessage().length() > MAX_ERROR_LENGTH
+                ? e.getMessage().substring(0, MAX_ERROR_LENGTH)
+                : e.getMessage();
+        
+        NotificationOutboxEvent.Status status;
+        LocalDateTime nextAttemptAt;
+        if (attempts >= maxAttempts) {
+            status = NotificationOutboxEvent.Status.FAILED;
+            nextAttemptAt = LocalDateTime.now();
+            deadLettered.incrementAndGet();
+            log.error("Giving up on notification outbox event {} after {} attempts", event.getId(), attempts, e);
+        } else {
+            status = NotificationOutboxEvent.Status.PENDING;
+            nextAttemptAt = LocalDateTime.now().plus(initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 16)));
+            retried.incrementAndGet();
+            log.warn("Notification outbox event {} failed, attempt {} of {}: {}",
+                    event.getId(), attempts, maxAttempts, e.getMessage());
+        }
+        
+        try {
+            transactionTemplate.executeWithoutResult(s -> notificationOutboxRepository.recordFailure(
+                    event.getId(), attempts, status, nextAttemptAt, error));
+        } catch (RuntimeException recordError) {
+            // The lease runs out and the event is retried without counting this attempt
+            log.warn("Could not record failure of notification outbox event {}", event.getId(), recordError);
+        }
+    }
+}
\ No newline at end of file
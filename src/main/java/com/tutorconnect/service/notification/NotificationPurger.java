@@ -0,0 +1,158 @@
+package com.tutorconnect.service.notification;
+
+import com.tutorconnect.dto.NotificationPurgeStats;
+import com.tutorconnect.dto.UnreadCountUpdate;
+import com.tutorconnect.model.Notification;
+import com.tutorconnect.repository.ArchivedNotificationRepository;
+import com.tutorconnect.repository.NotificationRepository;
+import com.tutorconnect.service.TransactionHooks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Removes notifications past their retention: read ones once the type's read TTL has passed
+// since they were read, and all of them once the type's maximum age has passed since they last
+// changed, optionally copying them to notifications_archive first. Works like BookingSweeper,
+// in batches read from the head of idx_notifications_read_purge or idx_notifications_age_purge,
+// each deleted in its own short transaction, with a bounded number of batches per run.
+@Slf4j
+@Component
+public class NotificationPurger {
+    
+    private final NotificationRepository notificationRepository;
+    private final ArchivedNotificationRepository archivedNotificationRepository;
+    private final NotificationStreamRegistry notificationStreamRegistry;
+    private final NotificationRetentionProperties retention;
+    private final TransactionTemplate transactionTemplate;
+    
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong totalPurged = new AtomicLong();
+    private final AtomicLong totalArchived = new AtomicLong();
+    
+    private volatile LocalDateTime lastRunStartedAt;
+    private volatile long lastRunMillis;
+    private volatile int lastRunPurged;
+    private volatile int lastRunBatches;
+    private volatile String lastError;
+    
+    public NotificationPurger(NotificationRepository notificationRepository,
+                              ArchivedNotificationRepository archivedNotificationRepository,
+                              NotificationStreamRegistry notificationStreamRegistry,
+                              NotificationRetentionProperties retention,
+                              TransactionTemplate transactionTemplate) {
+        this.notificationRepository = notificationRepository;
+        this.archivedNotificationRepository = archivedNotificationRepository;
+        this.notificationStreamRegistry = notificationStreamRegistry;
+        this.retention = retention;
+        this.transactionTemplate = transactionTemplate;
+    }
+    
+    @Scheduled(fixedDelayString = "${notifications.retention.interval-ms:600000}")
+    public void purge() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        
+        long started = System.nanoTime();
+        lastRunStartedAt = LocalDateTime.now();
+        lastRunPurged = 0;
+        lastRunBatches = 0;
+        try {
+            for (Notification.NotificationType type : Notification.NotificationType.values()) {
+                lastRunPurged += purge(type, false, lastRunStartedAt.minus(retention.readTtlOf(type)));
+                lastRunPurged += purge(type, true, lastRunStartedAt.minus(retention.maxAgeOf(type)));
+            }
+            lastError = null;
+        } catch (RuntimeException e) {
+            lastError = e.getMessage();
+            log.warn("Notification purge failed after {} batches", lastRunBatches, e);
+        } finally {
+            lastRunMillis = (System.nanoTime() - started) / 1_000_000;
+            runs.incrementAndGet();
+            running.set(false);
+        }
+        
+        if (lastRunPurged > 0) {
+            log.info("Purged {} notifications in {} ms", lastRunPurged, lastRunMillis);
+        }
+    }
+    
+    public NotificationPurgeStats getStats() {
+        long millis = lastRunMillis;
+        return new NotificationPurgeStats(
+                running.get(),
+                runs.get(),
+                totalPurged.get(),
+                totalArchived.get(),
+                lastRunStartedAt,
+                millis,
+                lastRunPurged,
+                lastRunBatches,
+                millis > 0 ? lastRunPurged * 1000.0 / millis : 0,
+                notificationRepository.count(),
+                archivedNotificationRepository.count(),
+                lastError);
+    }
+    
+    // Notifications read before the cutoff, or with expired set any that last changed before it;
+    // the latter also catches read notifications without readAt
+    private int purge(Notification.NotificationType type, boolean expired, LocalDateTime cutoff) {
+        int purged = 0;
+        while (lastRunBatches < retention.getMaxBatchesPerRun()) {
+            int batch = transactionTemplate.execute(status -> purgeBatch(type, expired, cutoff));
+            if (batch == 0) {
+                break;
+            }
+            
+            lastRunBatches++;
+            purged += batch;
+            totalPurged.addAndGet(batch);
+            if (batch < retention.getBatchSize()) {
+                break;
+            }
+        }
+        return purged;
+    }
+    
+    // Deleted rows leave the index, so every batch is read from its head
+    private int purgeBatch(Notification.NotificationType type, boolean expired, LocalDateTime cutoff) {
+        PageRequest limit = PageRequest.of(0, retention.getBatchSize());
+        List<Object[]> rows = expired
+                ? notificationRepository.findAgePurgeCandidates(type, cutoff, limit)
+                : notificationRepository.findReadPurgeCandidates(type, cutoff, limit);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        
+        List<Long> ids = new ArrayList<>(rows.size());
+        Map<Long, Integer> unreadByUser = new HashMap<>();
+        for (Object[] row : rows) {
+            ids.add((Long) row[0]);
+            if (!(Boolean) row[2]) {
+                unreadByUser.merge((Long) row[1], 1, Integer::sum);
+            }
+        }
+        
+        if (retention.isArchive()) {
+            int archived = notificationRepository.archiveByIdIn(ids, LocalDateTime.now());
+            TransactionHooks.afterCommit(() -> totalArchived.addAndGet(archived));
+        }
+        int deleted = notificationRepository.deleteByIdIn(ids);
+        
+        // Expired unread notifications leave the users' unread counts
+        TransactionHooks.afterCommit(() -> unreadByUser.forEach((userId, count) ->
+                notificationStreamRegistry.sendUnreadCount(userId, UnreadCountUpdate.delta(-count))));
+        return deleted;
+    }
+}
\ No newline at end of file
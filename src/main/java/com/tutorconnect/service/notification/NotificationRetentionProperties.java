@@ -0,0 +1,38 @@
+package com.tutorconnect.service.notification;
+
+import com.tutorconnect.model.Notification;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+// notifications.retention.* settings. Read notifications are kept for readTtl and every
+// notification, read or not, for maxAge; both can be overridden per type, e.g.
+// notifications.retention.read-ttl-by-type.NEW_MESSAGE=7d
+@Data
+@Component
+@ConfigurationProperties(prefix = "notifications.retention")
+public class NotificationRetentionProperties {
+    
+    private Duration readTtl = Duration.ofDays(30);
+    private Duration maxAge = Duration.ofDays(180);
+    private Map<Notification.NotificationType, Duration> readTtlByType = new EnumMap<>(Notification.NotificationType.class);
+    private Map<Notification.NotificationType, Duration> maxAgeByType = new EnumMap<>(Notification.NotificationType.class);
+    
+    // Copy purged rows to notifications_archive instead of only deleting them
+    private boolean archive = false;
+    
+    private int batchSize = 500;
+    private int maxBatchesPerRun = 200;
+    
+    public Duration readTtlOf(Notification.NotificationType type) {
+        return readTtlByType.getOrDefault(type, readTtl);
+    }
+    
+    public Duration maxAgeOf(Notification.NotificationType type) {
+        return maxAgeByType.getOrDefault(type, maxAge);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,203 @@
+package com.tutorconnect.service.notification;
+
+import com.tutorconnect.dto.NotificationView;
+import com.tutorconnect.dto.UnreadCountUpdate;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+// Open notification streams of the users connected to this node. An idle stream is only an
+// async servlet request and a small entry here, no thread; one scheduled heartbeat keeps all
+// of them alive through proxies and detects the ones whose client went away. Heartbeats are
+// written on their own small pool, so a slow client does not hold up the shared scheduler.
+@Slf4j
+@Component
+public class NotificationStreamRegistry {
+    
+    public static final String NOTIFICATION_EVENT = "notification";
+    public static final String NOTIFICATION_UPDATE_EVENT = "notification-update";
+    public static final String UNREAD_COUNT_EVENT = "unread-count";
+    
+    private final Map<Long, List<Stream>> streams = new ConcurrentHashMap<>();
+    
+    @Value("${notifications.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+    
+    @Value("${notifications.stream.max-per-user:5}")
+    private int maxPerUser;
+    
+    @Value("${notifications.stream.heartbeat-threads:2}")
+    private int heartbeatThreads;
+    
+    private ExecutorService heartbeatExecutor;
+    
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        heartbeatExecutor = Executors.newFixedThreadPool(heartbeatThreads, runnable -> {
+            Thread thread = new Thread(runnable, "notification-heartbeat-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        heartbeatExecutor.shutdownNow();
+    }
+    
+    // Registers a stream for the user before loading what it starts with, so nothing pushed in
+    // between is lost: live notifications are held back until the missed ones have been sent.
+    // The oldest stream is closed when the user has too many.
+    public SseEmitter open(Long userId, IntSupplier unreadCount, Supplier<List<NotificationView>> missed) {
+        Stream stream = new Stream(userId, new SseEmitter(timeoutMs));
+        stream.emitter.onCompletion(() -> remove(stream));
+        stream.emitter.onTimeout(() -> remove(stream));
+        stream.emitter.onError(e -> remove(stream));
+        
+        List<Stream> userStreams = streams.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>());
+        userStreams.add(stream);
+        while (userStreams.size() > maxPerUser) {
+            userStreams.remove(0).emitter.complete();
+        }
+        
+        stream.sendUnreadCount(UnreadCountUpdate.snapshot(unreadCount.getAsInt()));
+        stream.replay(missed.get());
+        return stream.emitter;
+    }
+    
+    public void sendNotification(Long userId, NotificationView notification) {
+        for (Stream stream : streamsOf(userId)) {
+            stream.sendNotification(notification);
+        }
+    }
+    
+    // A notification the client may already have changed (events were folded into it); sent
+    // without an event id so it does not move the client's resume position
+    public void sendNotificationUpdate(Long userId, NotificationView notification) {
+        for (Stream stream : streamsOf(userId)) {
+            stream.send(SseEmitter.event().name(NOTIFICATION_UPDATE_EVENT).data(notification));
+        }
+    }
+    
+    public void sendUnreadCount(Long userId, UnreadCountUpdate update) {
+        for (Stream stream : streamsOf(userId)) {
+            stream.sendUnreadCount(update);
+        }
+    }
+    
+    public int size() {
+        return streams.values().stream().mapToInt(List::size).sum();
+    }
+    
+    // Only queues the writes; a stream whose previous heartbeat is still pending is skipped,
+    // so a client that stopped reading cannot pile up work
+    @Scheduled(fixedDelayString = "${notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (List<Stream> userStreams : streams.values()) {
+            for (Stream stream : userStreams) {
+                if (stream.heartbeatPending.compareAndSet(false, true)) {
+                    heartbeatExecutor.execute(() -> {
+                        try {
+                            stream.send(SseEmitter.event().comment("ping"));
+                        } finally {
+                            stream.heartbeatPending.set(false);
+                        }
+                    });
+                }
+            }
+        }
+    }
+    
+    private List<Stream> streamsOf(Long userId) {
+        List<Stream> userStreams = streams.get(userId);
+        return userStreams != null ? userStreams : List.of();
+    }
+    
+    private void remove(Stream stream) {
+        streams.computeIfPresent(stream.userId, (id, userStreams) -> {
+            userStreams.remove(stream);
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+    }
+    
+    private class Stream {
+        
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final AtomicBoolean heartbeatPending = new AtomicBoolean();
+        
+        // Live notifications that arrive while missed ones are being loaded; null after the replay
+        private List<NotificationView> held = new ArrayList<>();
+        
+        // Highest notification id sent, so a notification that is both replayed and pushed live
+        // goes out once
+        private long lastNotificationId;
+        
+        Stream(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+        
+        synchronized void replay(List<NotificationView> missed) {
+            List<NotificationView> pending = new ArrayList<>(missed);
+            pending.addAll(held);
+            held = null;
+            pending.sort(Comparator.comparing(NotificationView::getId));
+            for (NotificationView notification : pending) {
+                sendNotification(notification);
+            }
+        }
+        
+        synchronized void sendNotification(NotificationView notification) {
+            if (held != null) {
+                held.add(notification);
+                return;
+            }
+            if (notification.getId() <= lastNotificationId) {
+                return;
+            }
+            if (send(SseEmitter.event()
+                    .id(String.valueOf(notification.getId()))
+                    .name(NOTIFICATION_EVENT)
+                    .data(notification))) {
+                lastNotificationId = notification.getId();
+            }
+        }
+        
+        synchronized void sendUnreadCount(UnreadCountUpdate update) {
+            send(SseEmitter.event().name(UNREAD_COUNT_EVENT).data(update));
+        }
+        
+        synchronized boolean send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // The client went away
+                log.debug("Closing notification stream of user {}: {}", userId, e.getMessage());
+                remove(this);
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.tutorconnect.service.reminder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Hashed timing wheel: a timeout is hashed into one of a fixed number of buckets by the tick
+// its deadline falls on, and each tick only looks at one bucket. Timeouts further away than
+// one rotation stay in their bucket until their deadline tick comes round. Scheduling and
+// cancelling are O(1); the caller drives the wheel by calling advance() once per tick.
+class HashedTimingWheel {
+    
+    static final class Timeout {
+        private final Runnable task;
+        private final long deadlineTick;
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+        
+        private Timeout(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+    
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+        
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.previous = tail;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+        
+        private void remove(Timeout timeout) {
+            if (timeout.previous == null) {
+                head = timeout.next;
+            } else {
+                timeout.previous.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.previous;
+            } else {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.bucket = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+        
+        private void expire(long tick, List<Runnable> due) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.deadlineTick <= tick) {
+                    remove(timeout);
+                    due.add(timeout.task);
+                }
+                timeout = next;
+            }
+        }
+    }
+    
+    private final long tickMillis;
+    private final long startMillis;
+    private final Bucket[] buckets;
+    private final int mask;
+    
+    // Next tick to be processed
+    private long currentTick;
+    private int size;
+    
+    HashedTimingWheel(long tickMillis, int bucketCount, long startMillis) {
+        if (Integer.bitCount(bucketCount) != 1) {
+            throw new IllegalArgumentException("Bucket count must be a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.buckets = new Bucket[bucketCount];
+        this.mask = bucketCount - 1;
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+    
+    // Deadlines already passed fire on the next tick
+    synchronized Timeout schedule(long deadlineMillis, Runnable task) {
+        long deadlineTick = Math.max(Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis), currentTick);
+        Timeout timeout = new Timeout(task, deadlineTick);
+        buckets[(int) (deadlineTick & mask)].add(timeout);
+        size++;
+        return timeout;
+    }
+    
+    synchronized boolean cancel(Timeout timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        size--;
+        return true;
+    }
+    
+    // Processes every tick up to the given time and returns the tasks that became due, to be run
+    // by the caller outside the wheel's lock
+    synchronized List<Runnable> advance(long nowMillis) {
+        List<Runnable> due = new ArrayList<>();
+        long nowTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        if (nowTick < currentTick) {
+            return due;
+        }
+        
+        // After a long pause one full rotation already visits every bucket
+        long steps = Math.min(nowTick - currentTick + 1, buckets.length);
+        for (long i = 0; i < steps; i++) {
+            buckets[(int) ((currentTick + i) & mask)].expire(nowTick, due);
+        }
+        currentTick = nowTick + 1;
+        size -= due.size();
+        return due;
+    }
+    
+    synchronized int size() {
+        return size;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.tutorconnect.service.reminder;
+
+import com.tutorconnect.dto.BookingInterval;
+import com.tutorconnect.model.Booking;
+import com.tutorconnect.model.Notification;
+import com.tutorconnect.repository.BookingRepository;
+import com.tutorconnect.service.notification.NotificationOutbox;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Sends "your session starts soon" notifications for confirmed bookings. Upcoming reminders
+// live in a hashed timing wheel ticking once a second, so nothing polls the bookings table;
+// the wheel is filled from the database at startup and kept current by BookingService.
+// Sent reminders are recorded on the booking, so a restart never sends one twice.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SessionReminderService {
+    
+    // Lead times in minutes, longest first
+    static final List<Integer> REMINDER_MINUTES = List.of(60, 15);
+    
+    private static final long TICK_MILLIS = 1000;
+    
+    // About 68 minutes per rotation, so most reminders are hashed into their final bucket
+    private static final int BUCKETS = 4096;
+    
+    private final BookingRepository bookingRepository;
+    private final NotificationOutbox notificationOutbox;
+    private final TransactionTemplate transactionTemplate;
+    
+    private final HashedTimingWheel wheel = new HashedTimingWheel(TICK_MILLIS, BUCKETS, System.currentTimeMillis());
+    private final Map<Long, List<HashedTimingWheel.Timeout>> timeouts = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "session-reminders");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<BookingInterval> upcoming = bookingRepository.findIntervalsStartingAfter(
+                Booking.BookingStatus.CONFIRMED, LocalDateTime.now());
+        for (BookingInterval booking : upcoming) {
+            schedule(booking.getId(), booking.getStartTime());
+        }
+        ticker.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        log.info("Scheduled session reminders for {} upcoming bookings", upcoming.size());
+    }
+    
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+    
+    // Schedules the reminders of a confirmed booking and cancels them for any other status
+    public void bookingChanged(Long bookingId, LocalDateTime startTime, Booking.BookingStatus status) {
+        if (status == Booking.BookingStatus.CONFIRMED) {
+            schedule(bookingId, startTime);
+        } else {
+            cancel(bookingId);
+        }
+    }
+    
+    public int pendingReminders() {
+        return wheel.size();
+    }
+    
+    private void schedule(Long bookingId, LocalDateTime startTime) {
+        cancel(bookingId);
+        
+        LocalDateTime now = LocalDateTime.now();
+        if (!startTime.isAfter(now)) {
+            return;
+        }
+        
+        List<HashedTimingWheel.Timeout> scheduled = new ArrayList<>(REMINDER_MINUTES.size());
+        for (int i = 0; i < REMINDER_MINUTES.size(); i++) {
+            // A reminder whose shorter successor is already due would only arrive together with it
+            if (i + 1 < REMINDER_MINUTES.size() && !startTime.minusMinutes(REMINDER_MINUTES.get(i + 1)).isAfter(now)) {
+                continue;
+            }
+            int minutes = REMINDER_MINUTES.get(i);
+            long fireAt = startTime.minusMinutes(minutes).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            scheduled.add(wheel.schedule(fireAt, () -> remind(bookingId, startTime, minutes)));
+        }
+        timeouts.put(bookingId, scheduled);
+    }
+    
+    private void cancel(Long bookingId) {
+        List<HashedTimingWheel.Timeout> scheduled = timeouts.remove(bookingId);
+        if (scheduled != null) {
+            scheduled.forEach(wheel::cancel);
+        }
+    }
+    
+    private void tick() {
+        for (Runnable task : wheel.advance(System.currentTimeMillis())) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.warn("Session reminder failed", e);
+            }
+        }
+    }
+    
+    private void remind(Long bookingId, LocalDateTime startTime, int minutes) {
+        if (minutes == REMINDER_MINUTES.get(REMINDER_MINUTES.size() - 1)) {
+            timeouts.remove(bookingId);
+        }
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            if (bookingRepository.claimReminder(bookingId, Booking.BookingStatus.CONFIRMED, startTime, minutes) == 0) {
+                return;
+            }
+            bookingRepository.findById(bookingId).ifPresent(booking -> {
+                String startsIn = minutes >= 60 && minutes % 60 == 0
+                        ? (minutes / 60) + (minutes == 60 ? " hour" : " hours")
+                        : minutes + " minutes";
+                notificationOutbox.enqueue(
+                        booking.getStudent(),
+                        "Session Reminder",
+                        "Your session with " + booking.getTutor().getFullName() + " starts in " + startsIn + ".",
+                        Notification.NotificationType.SESSION_REMINDER,
+                        "/student/bookings/" + bookingId);
+                notificationOutbox.enqueue(
+                        booking.getTutor(),
+                        "Session Reminder",
+                        "Your session with " + booking.getStudent().getFullName() + " starts in " + startsIn + ".",
+                        Notification.NotificationType.SESSION_REMINDER,
+                        "/tutor/bookings/" + bookingId);
+            });
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,378 @@
+package com.tutorconnect.service.search;
+
+import com.tutorconnect.dto.SubjectSummary;
+import com.tutorconnect.dto.TutorCard;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+// Column-oriented in-memory view of all tutors for faceted search. Tutors get dense ordinals;
+// subjects are bitsets over those ordinals and rate/rating/experience are kept as sorted columns,
+// so any combination of filters is a handful of bitset operations without touching the database.
+@Component
+public class TutorFacetIndex {
+    
+    public enum Column {
+        HOURLY_RATE(TutorCard::getHourlyRate),
+        AVERAGE_RATING(TutorCard::getAverageRating),
+        YEARS_OF_EXPERIENCE(TutorCard::getYearsOfExperience);
+        
+        private final Function<TutorCard, Number> extractor;
+        
+        Column(Function<TutorCard, Number> extractor) {
+            this.extractor = extractor;
+        }
+    }
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private TutorCard[] cards = new TutorCard[64];
+    private int nextOrdinal = 0;
+    private final BitSet live = new BitSet();
+    private final Map<Long, BitSet> subjectTutors = new HashMap<>();
+    
+    // Re-sorted lazily on the first search after a write
+    private final Map<Column, SortedColumn> columns = new EnumMap<>(Column.class);
+    private volatile boolean columnsStale = true;
+    
+    public void rebuild(List<TutorCard> tutors) {
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            cards = new TutorCard[Math.max(64, tutors.size())];
+            nextOrdinal = 0;
+            live.clear();
+            subjectTutors.clear();
+            for (TutorCard card : tutors) {
+                put(card);
+            }
+            columnsStale = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void index(TutorCard card) {
+        lock.writeLock().lock();
+        try {
+            put(card);
+            columnsStale = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(Long tutorId) {
+        lock.writeLock().lock();
+        try {
+            // The ordinal is not reused until the next rebuild
+            Integer ordinal = ordinals.get(tutorId);
+            if (ordinal == null || !live.get(ordinal)) {
+                return;
+            }
+            clearSubjects(ordinal, cards[ordinal]);
+            cards[ordinal] = null;
+            live.clear(ordinal);
+            columnsStale = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public TutorSearchResult search(TutorSearchCriteria criteria, Set<Long> keywordMatches) {
+        refreshColumnsIfStale();
+        
+        lock.readLock().lock();
+        try {
+            BitSet filtered = (BitSet) live.clone();
+            
+            if (keywordMatches != null) {
+                filtered.and(toBits(keywordMatches));
+            }
+            if (criteria.getMinPrice() != null || criteria.getMaxPrice() != null) {
+                filtered.and(columns.get(Column.HOURLY_RATE).range(criteria.getMinPrice(), criteria.getMaxPrice()));
+            }
+            if (criteria.getMinRating() != null) {
+                filtered.and(columns.get(Column.AVERAGE_RATING).range(criteria.getMinRating(), null));
+            }
+            
+            // Subject counts ignore the subject filter itself so the UI can offer the other subjects
+            Map<Long, Integer> subjectCounts = countBySubject(filtered);
+            
+            if (criteria.getSubjectIds() != null && !criteria.getSubjectIds().isEmpty()) {
+                filtered.and(anySubject(criteria.getSubjectIds()));
+            }
+            
+            int total = filtered.cardinality();
+            List<TutorCard> page = page(filtered, criteria.getSortOrder(), criteria.getPage(), criteria.getSize());
+            return new TutorSearchResult(page, total, criteria.getPage(), criteria.getSize(), subjectCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Indexed tutors among the given ordinals that teach any of the subjects (any subject when
+    // none are given), in the requested order
+    public List<TutorCard> findAmong(BitSet candidates, Collection<Long> subjectIds, TutorSortOrder sortOrder, int limit) {
+        refreshColumnsIfStale();
+        
+        lock.readLock().lock();
+        try {
+            BitSet filtered = (BitSet) candidates.clone();
+            filtered.and(live);
+            if (subjectIds != null && !subjectIds.isEmpty()) {
+                filtered.and(anySubject(subjectIds));
+            }
+            return page(filtered, sortOrder, 0, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Cards for the given tutors in the same order, skipping tutors that are not indexed
+    public List<TutorCard> findCards(List<Long> tutorIds) {
+        lock.readLock().lock();
+        try {
+            List<TutorCard> result = new ArrayList<>(tutorIds.size());
+            for (Long tutorId : tutorIds) {
+                Integer ordinal = ordinals.get(tutorId);
+                if (ordinal != null && live.get(ordinal)) {
+                    result.add(cards[ordinal]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Ordinal of an indexed tutor, or -1
+    public int ordinalOf(Long tutorId) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinals.get(tutorId);
+            return ordinal != null && live.get(ordinal) ? ordinal : -1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void put(TutorCard card) {
+        Integer ordinal = ordinals.get(card.getId());
+        if (ordinal == null) {
+            ordinal = nextOrdinal++;
+            ordinals.put(card.getId(), ordinal);
+            if (ordinal >= cards.length) {
+                cards = Arrays.copyOf(cards, cards.length * 2);
+            }
+        } else {
+            clearSubjects(ordinal, cards[ordinal]);
+        }
+        
+        cards[ordinal] = card;
+        live.set(ordinal);
+        for (SubjectSummary subject : card.getSubjects()) {
+            subjectTutors.computeIfAbsent(subject.getId(), id -> new BitSet()).set(ordinal);
+        }
+    }
+    
+    private void clearSubjects(int ordinal, TutorCard previous) {
+        if (previous == null) {
+            return;
+        }
+        for (SubjectSummary subject : previous.getSubjects()) {
+            BitSet tutors = subjectTutors.get(subject.getId());
+            if (tutors != null) {
+                tutors.clear(ordinal);
+            }
+        }
+    }
+    
+    private BitSet toBits(Set<Long> tutorIds) {
+        BitSet bits = new BitSet();
+        for (Long tutorId : tutorIds) {
+            Integer ordinal = ordinals.get(tutorId);
+            if (ordinal != null) {
+                bits.set(ordinal);
+            }
+        }
+        return bits;
+    }
+    
+    private BitSet anySubject(Collection<Long> subjectIds) {
+        BitSet anySubject = new BitSet();
+        for (Long subjectId : subjectIds) {
+            BitSet tutors = subjectTutors.get(subjectId);
+            if (tutors != null) {
+                anySubject.or(tutors);
+            }
+        }
+        return anySubject;
+    }
+    
+    private Map<Long, Integer> countBySubject(BitSet filtered) {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Map.Entry<Long, BitSet> entry : subjectTutors.entrySet()) {
+            BitSet matching = (BitSet) entry.getValue().clone();
+            matching.and(filtered);
+            int count = matching.cardinality();
+            if (count > 0) {
+                counts.put(entry.getKey(), count);
+            }
+        }
+        return counts;
+    }
+    
+    private List<TutorCard> page(BitSet filtered, TutorSortOrder sortOrder, int page, int size) {
+        List<TutorCard> result = new ArrayList<>(size);
+        int toSkip = page * size;
+        
+        PrimitiveIterator.OfInt ordered = columns.get(sortOrder.getColumn()).iterator(sortOrder.isDescending());
+        while (ordered.hasNext() && result.size() < size) {
+            int ordinal = ordered.nextInt();
+            if (!filtered.get(ordinal)) {
+                continue;
+            }
+            if (toSkip > 0) {
+                toSkip--;
+                continue;
+            }
+            result.add(cards[ordinal]);
+        }
+        return result;
+    }
+    
+    private void refreshColumnsIfStale() {
+        if (!columnsStale) {
+            return;
+        }
+        
+        lock.writeLock().lock();
+        try {
+            if (columnsStale) {
+                for (Column column : Column.values()) {
+                    columns.put(column, SortedColumn.build(column, cards, live));
+                }
+                columnsStale = false;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Live ordinals sorted ascending by a column value; tutors without a value sort last either way
+    private static class SortedColumn {
+        
+        private final int[] ordinals;
+        private final double[] values;
+        private final int[] missing;
+        
+        private SortedColumn(int[] ordinals, double[] values, int[] missing) {
+            this.ordinals = ordinals;
+            this.values = values;
+            this.missing = missing;
+        }
+        
+        static SortedColumn build(Column column, TutorCard[] cards, BitSet live) {
+            List<Integer> present = new ArrayList<>();
+            List<Integer> absent = new ArrayList<>();
+            for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+                if (column.extractor.apply(cards[ordinal]) != null) {
+                    present.add(ordinal);
+                } else {
+                    absent.add(ordinal);
+                }
+            }
+            
+            present.sort(Comparator
+                    .comparingDouble((Integer ordinal) -> column.extractor.apply(cards[ordinal]).doubleValue())
+                    .thenComparing(ordinal -> cards[ordinal].getId()));
+            
+            int[] ordinals = new int[present.size()];
+            double[] values = new double[present.size()];
+            for (int i = 0; i < ordinals.length; i++) {
+                ordinals[i] = present.get(i);
+                values[i] = column.extractor.apply(cards[ordinals[i]]).doubleValue();
+            }
+            return new SortedColumn(ordinals, values, absent.stream().mapToInt(Integer::intValue).toArray());
+        }
+        
+        // Ordinals whose value lies in [min, max]; a null bound is open
+        BitSet range(Double min, Double max) {
+            int from = min == null ? 0 : lowerBound(min);
+            int to = max == null ? values.length : upperBound(max);
+            
+            BitSet bits = new BitSet();
+            for (int i = from; i < to; i++) {
+                bits.set(ordinals[i]);
+            }
+            return bits;
+        }
+        
+        PrimitiveIterator.OfInt iterator(boolean descending) {
+            return new PrimitiveIterator.OfInt() {
+                private int position = 0;
+                
+                @Override
+                public boolean hasNext() {
+                    return position < ordinals.length + missing.length;
+                }
+                
+                @Override
+                public int nextInt() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    int i = position++;
+                    if (i < ordinals.length) {
+                        return ordinals[descending ? ordinals.length - 1 - i : i];
+                    }
+                    return missing[i - ordinals.length];
+                }
+            };
+        }
+        
+        // First index with values[i] >= value
+        private int lowerBound(double value) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+        
+        // First index with values[i] > value
+        private int upperBound(double value) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
\ No newline at end of file
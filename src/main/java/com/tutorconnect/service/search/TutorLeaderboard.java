@@ -0,0 +1,88 @@
+package com.tutorconnect.service.search;
+
+import com.tutorconnect.dto.SubjectSummary;
+import com.tutorconnect.dto.TutorCard;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Tutors of every subject kept in rating order, so the best K of a subject are read in O(K).
+// Every tutor of the subject stays in the set, which keeps the top K exact when a leader's rating drops.
+@Component
+public class TutorLeaderboard {
+    
+    private static final Comparator<Entry> RANKING = Comparator
+            .comparingDouble(Entry::rating).reversed()
+            .thenComparing(Comparator.comparingInt(Entry::totalReviews).reversed())
+            .thenComparingLong(Entry::tutorId);
+    
+    private final Map<Long, NavigableSet<Entry>> bySubject = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    
+    public synchronized void rebuild(List<TutorCard> tutors) {
+        bySubject.clear();
+        entries.clear();
+        for (TutorCard tutor : tutors) {
+            put(tutor);
+        }
+    }
+    
+    // Re-rank a tutor after a rating change or a change to their subjects
+    public synchronized void update(TutorCard tutor) {
+        removeEntry(tutor.getId());
+        put(tutor);
+    }
+    
+    public synchronized void remove(Long tutorId) {
+        removeEntry(tutorId);
+    }
+    
+    public List<Long> top(Long subjectId, int limit) {
+        NavigableSet<Entry> ranking = bySubject.get(subjectId);
+        if (ranking == null) {
+            return Collections.emptyList();
+        }
+        
+        List<Long> tutorIds = new ArrayList<>(limit);
+        Iterator<Entry> iterator = ranking.iterator();
+        while (iterator.hasNext() && tutorIds.size() < limit) {
+            tutorIds.add(iterator.next().tutorId());
+        }
+        return tutorIds;
+    }
+    
+    private void put(TutorCard tutor) {
+        Set<Long> subjectIds = new HashSet<>();
+        for (SubjectSummary subject : tutor.getSubjects()) {
+            subjectIds.add(subject.getId());
+        }
+        
+        Entry entry = new Entry(
+                tutor.getId(),
+                tutor.getAverageRating() != null ? tutor.getAverageRating() : 0.0,
+                tutor.getTotalReviews() != null ? tutor.getTotalReviews() : 0,
+                subjectIds);
+        entries.put(entry.tutorId(), entry);
+        for (Long subjectId : subjectIds) {
+            bySubject.computeIfAbsent(subjectId, id -> new ConcurrentSkipListSet<>(RANKING)).add(entry);
+        }
+    }
+    
+    private void removeEntry(Long tutorId) {
+        Entry previous = entries.remove(tutorId);
+        if (previous == null) {
+            return;
+        }
+        for (Long subjectId : previous.subjectIds()) {
+            NavigableSet<Entry> ranking = bySubject.get(subjectId);
+            if (ranking != null) {
+                ranking.remove(previous);
+            }
+        }
+    }
+    
+    private record Entry(long tutorId, double rating, int totalReviews, Set<Long> subjectIds) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.tutorconnect.service.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TutorSearchCriteria {
+    
+    private String query;
+    
+    // Tutors teaching any of these subjects
+    private List<Long> subjectIds = new ArrayList<>();
+    
+    private Double minPrice;
+    private Double maxPrice;
+    private Double minRating;
+    private TutorSortOrder sortOrder = TutorSortOrder.RATING;
+    private int page = 0;
+    private int size = 20;
+    
+    public boolean hasQuery() {
+        return query != null && !query.isBlank();
+    }
+}
\ No newline at end of file
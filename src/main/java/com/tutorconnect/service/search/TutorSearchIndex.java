@@ -0,0 +1,168 @@
+package com.tutorconnect.service.search;
+
+import com.tutorconnect.model.Subject;
+import com.tutorconnect.model.Tutor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// In-memory inverted index over tutor names, titles, bios and subject names,
+// used for keyword search instead of the LIKE scan in TutorRepository.findByKeyword
+@Component
+public class TutorSearchIndex {
+    
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    // term -> ids of tutors containing it; sorted so prefixes map to a contiguous range
+    private NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+    
+    // tutor id -> terms currently indexed for it, used to remove stale postings on update
+    private Map<Long, Set<String>> documentTerms = new HashMap<>();
+    
+    // Replace the whole index; tutors must have their subjects initialized
+    public void rebuild(List<Tutor> tutors) {
+        NavigableMap<String, Set<Long>> newPostings = new TreeMap<>();
+        Map<Long, Set<String>> newDocumentTerms = new HashMap<>();
+        
+        for (Tutor tutor : tutors) {
+            Set<String> terms = extractTerms(tutor);
+            newDocumentTerms.put(tutor.getId(), terms);
+            for (String term : terms) {
+                newPostings.computeIfAbsent(term, t -> new HashSet<>()).add(tutor.getId());
+            }
+        }
+        
+        lock.writeLock().lock();
+        try {
+            this.postings = newPostings;
+            this.documentTerms = newDocumentTerms;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Add or re-index a single tutor
+    public void index(Tutor tutor) {
+        Set<String> terms = extractTerms(tutor);
+        
+        lock.writeLock().lock();
+        try {
+            removePostings(tutor.getId());
+            documentTerms.put(tutor.getId(), terms);
+            for (String term : terms) {
+                postings.computeIfAbsent(term, t -> new HashSet<>()).add(tutor.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(Long tutorId) {
+        lock.writeLock().lock();
+        try {
+            removePostings(tutorId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Every query term is matched as a prefix and all terms must match (AND)
+    public Set<Long> search(String query) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return Collections.emptySet();
+        }
+        
+        lock.readLock().lock();
+        try {
+            List<Set<Long>> matches = new ArrayList<>(terms.size());
+            for (String term : new LinkedHashSet<>(terms)) {
+                Set<Long> termMatches = prefixMatches(term);
+                if (termMatches.isEmpty()) {
+                    return Collections.emptySet();
+                }
+                matches.add(termMatches);
+            }
+            
+            // Intersect starting from the most selective term
+            matches.sort(Comparator.comparingInt(Set::size));
+            Set<Long> result = new HashSet<>(matches.get(0));
+            for (int i = 1; i < matches.size() && !result.isEmpty(); i++) {
+                result.retainAll(matches.get(i));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+    
+    private Set<Long> prefixMatches(String prefix) {
+        SortedMap<String, Set<Long>> range = postings.subMap(prefix, prefix + Character.MAX_VALUE);
+        if (range.size() == 1) {
+            return range.values().iterator().next();
+        }
+        
+        Set<Long> union = new HashSet<>();
+        for (Set<Long> ids : range.values()) {
+            union.addAll(ids);
+        }
+        return union;
+    }
+    
+    private void removePostings(Long tutorId) {
+        Set<String> previous = documentTerms.remove(tutorId);
+        if (previous == null) {
+            return;
+        }
+        
+        for (String term : previous) {
+            Set<Long> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(tutorId);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+    
+    private Set<String> extractTerms(Tutor tutor) {
+        Set<String> terms = new HashSet<>();
+        terms.addAll(tokenize(tutor.getFirstName()));
+        terms.addAll(tokenize(tutor.getLastName()));
+        terms.addAll(tokenize(tutor.getTitle()));
+        terms.addAll(tokenize(tutor.getBio()));
+        for (Subject subject : tutor.getSubjects()) {
+            terms.addAll(tokenize(subject.getName()));
+        }
+        return terms;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.tutorconnect.service.search;
+
+import com.tutorconnect.dto.TutorCard;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TutorSearchResult {
+    
+    private List<TutorCard> tutors;
+    private int total;
+    private int page;
+    private int size;
+    
+    // subject id -> matching tutors, computed with every filter applied except the subject filter
+    private Map<Long, Integer> subjectCounts;
+}
\ No newline at end of file
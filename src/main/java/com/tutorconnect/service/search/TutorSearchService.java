@@ -0,0 +1,91 @@
+package com.tutorconnect.service.search;
+
+import com.tutorconnect.dto.TutorCard;
+import com.tutorconnect.model.Tutor;
+import com.tutorconnect.repository.TutorRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TutorSearchService {
+    
+    private static final int MAX_PAGE_SIZE = 100;
+    
+    private final TutorRepository tutorRepository;
+    private final TutorSearchIndex tutorSearchIndex;
+    private final TutorFacetIndex tutorFacetIndex;
+    private final TutorLeaderboard tutorLeaderboard;
+    
+    // Runs right after the ratings are recomputed and before indexes keyed by facet ordinals load
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.nanoTime();
+        List<Tutor> tutors = tutorRepository.findAllWithSubjects();
+        
+        List<TutorCard> cards = tutors.stream().map(TutorCard::from).toList();
+        
+        tutorSearchIndex.rebuild(tutors);
+        tutorFacetIndex.rebuild(cards);
+        tutorLeaderboard.rebuild(cards);
+        
+        log.info("Indexed {} tutors for search in {} ms", tutors.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    // Must be called with the tutor's subjects loadable (inside the writing transaction)
+    public void indexTutor(Tutor tutor) {
+        TutorCard card = TutorCard.from(tutor);
+        tutorSearchIndex.index(tutor);
+        tutorFacetIndex.index(card);
+        tutorLeaderboard.update(card);
+    }
+    
+    // Reloads the tutor with its subjects and indexes it, or drops it if it no longer exists. Meant
+    // for after-commit hooks, so it reads in a transaction of its own.
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void reindexTutor(Long tutorId) {
+        List<Tutor> tutors = tutorRepository.findAllWithSubjectsByIdIn(List.of(tutorId));
+        if (tutors.isEmpty()) {
+            removeTutor(tutorId);
+        } else {
+            indexTutor(tutors.get(0));
+        }
+    }
+    
+    public void removeTutor(Long tutorId) {
+        tutorSearchIndex.remove(tutorId);
+        tutorFacetIndex.remove(tutorId);
+        tutorLeaderboard.remove(tutorId);
+    }
+    
+    public Set<Long> findTutorIdsByKeyword(String keyword) {
+        return tutorSearchIndex.search(keyword);
+    }
+    
+    // Highest rated tutors of a subject, read from the leaderboard without sorting
+    public List<TutorCard> findTopTutors(Long subjectId, int limit) {
+        int boundedLimit = Math.min(Math.max(1, limit), MAX_PAGE_SIZE);
+        return tutorFacetIndex.findCards(tutorLeaderboard.top(subjectId, boundedLimit));
+    }
+    
+    public TutorSearchResult search(TutorSearchCriteria criteria) {
+        criteria.setPage(Math.max(0, criteria.getPage()));
+        criteria.setSize(Math.min(Math.max(1, criteria.getSize()), MAX_PAGE_SIZE));
+        
+        Set<Long> keywordMatches = criteria.hasQuery() ? tutorSearchIndex.search(criteria.getQuery()) : null;
+        return tutorFacetIndex.search(criteria, keywordMatches);
+    }
+}
\ No newline at end of file
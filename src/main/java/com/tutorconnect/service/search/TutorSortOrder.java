@@ -0,0 +1,38 @@
+package com.tutorconnect.service.search;
+
+import java.util.Locale;
+
+public enum TutorSortOrder {
+    RATING(TutorFacetIndex.Column.AVERAGE_RATING, true),
+    PRICE_LOW(TutorFacetIndex.Column.HOURLY_RATE, false),
+    PRICE_HIGH(TutorFacetIndex.Column.HOURLY_RATE, true),
+    EXPERIENCE(TutorFacetIndex.Column.YEARS_OF_EXPERIENCE, true);
+    
+    private final TutorFacetIndex.Column column;
+    private final boolean descending;
+    
+    TutorSortOrder(TutorFacetIndex.Column column, boolean descending) {
+        this.column = column;
+        this.descending = descending;
+    }
+    
+    public TutorFacetIndex.Column getColumn() {
+        return column;
+    }
+    
+    public boolean isDescending() {
+        return descending;
+    }
+    
+    // Maps the frontend's sortBy values (rating, price_low, price_high, experience)
+    public static TutorSortOrder fromParam(String sortBy) {
+        if (sortBy == null || sortBy.isBlank()) {
+            return RATING;
+        }
+        try {
+            return valueOf(sortBy.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported sort order: " + sortBy);
+        }
+    }
+}
\ No newline at end of file
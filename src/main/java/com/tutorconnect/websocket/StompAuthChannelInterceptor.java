@@ -0,0 +1,46 @@
+package com.tutorconnect.websocket;
+
+import com.tutorconnect.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+
+// The WebSocket handshake is unauthenticated, so the JWT is checked on the STOMP CONNECT frame.
+// The session's principal is the user's email, which is also the user destination name.
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private final JwtTokenProvider jwtTokenProvider;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            String token = JwtTokenProvider.resolveBearerToken(accessor.getFirstNativeHeader("Authorization"));
+            Claims claims = token != null ? jwtTokenProvider.parseClaims(token) : null;
+            if (claims == null) {
+                throw new BadCredentialsException("Invalid or missing token");
+            }
+            accessor.setUser(new UsernamePasswordAuthenticationToken(claims.getSubject(), null, Collections.emptyList()));
+        } else if (accessor.getCommand() != null && accessor.getUser() == null
+                && !StompCommand.DISCONNECT.equals(accessor.getCommand())) {
+            throw new BadCredentialsException("Not connected");
+        }
+        return message;
+    }
+}
\ No newline at end of file
@@ -4,6 +4,7 @@ import axios from 'axios';
 import { useAuth } from '../../contexts/AuthContext';
 import { ArrowLeft, Airplay as PaperAirplane, User } from 'lucide-react';
 import { formatDistanceToNow } from 'date-fns';
+import { StompClient } from '../../utils/stompClient';
 
 interface ChatRoom {
   id: number;
@@ -33,9 +34,28 @@ interface Message {
   read: boolean;
 }
 
+// Message as sent by the server, both in history pages and on /user/queue/messages
+interface MessageView {
+  id: number;
+  chatRoomId: number;
+  senderId: number;
+  senderName: string;
+  content: string;
+  sentAt: string;
+  readAt: string | null;
+}
+
+const toMessage = (view: MessageView): Message => ({
+  id: view.id,
+  sender: { id: view.senderId, firstName: view.senderName, lastName: '' },
+  content: view.content,
+  sentAt: view.sentAt,
+  read: view.readAt !== null,
+});
+
 const ChatPage = () => {
   const { id } = useParams<{ id: string }>();
-  const { user } = useAuth();
+  const { user, token } = useAuth();
   const navigate = useNavigate();
   const [chatRoom, setChatRoom] = useState<ChatRoom | null>(null);
   const [messages, setMessages] = useState<Message[]>([]);
@@ -44,6 +64,7 @@ const ChatPage = () => {
   const [error, setError] = useState('');
   const [sending, setSending] = useState(false);
   const messagesEndRef = useRef<HTMLDivElement>(null);
+  const stompRef = useRef<StompClient | null>(null);
   
   useEffect(() => {
     const fetchChatRoom = async () => {
@@ -57,17 +78,6 @@ const ChatPage = () => {
       }
     };
     
-    const fetchMessages = async () => {
-      try {
-        const response = await axios.get(`/api/messages/chatrooms/${id}/messages`);
-        setMessages(response.data);
-        // Mark messages as read
-        axios.post(`/api/messages/chatrooms/${id}/read`);
-      } catch (err) {
-        console.error('Error fetching messages:', err);
-      }
-    };
-    
     fetchChatRoom();
     fetchMessages();
     
@@ -156,13 +166,56 @@ const ChatPage = () => {
       setLoading(false);
     }
     
-    // Set up polling for new messages
-    const intervalId = setInterval(fetchMessages, 10000);
+  }, [id]);
+  
+  // New messages are pushed over STOMP instead of polled; after a reconnect the latest page is
+  // fetched again to pick up anything sent while the connection was down
+  useEffect(() => {
+    if (!token) return;
+    
+    let connectedBefore = false;
+    const client = new StompClient({
+      token,
+      onConnect: () => {
+        if (connectedBefore) {
+          fetchMessages();
+        }
+        connectedBefore = true;
+      },
+    });
+    
+    const unsubscribe = client.subscribe('/user/queue/messages', (view: MessageView) => {
+      if (view.chatRoomId !== Number(id)) return;
+      setMessages((current) =>
+        current.some((message) => message.id === view.id) ? current : [...current, toMessage(view)]
+      );
+      if (view.senderId !== user?.id) {
+        client.send('/app/chat.read', { chatRoomId: view.chatRoomId, upToMessageId: view.id });
+      }
+    });
+    
+    client.connect();
+    stompRef.current = client;
     
     return () => {
-      clearInterval(intervalId);
+      unsubscribe();
+      client.disconnect();
+      stompRef.current = null;
     };
-  }, [id]);
+  }, [id, token, user?.id]);
+  
+  async function fetchMessages() {
+    try {
+      // The history endpoint pages newest first
+      const response = await axios.get(`/api/messages/chatrooms/${id}/messages`);
+      const views: MessageView[] = response.data.items || [];
+      setMessages(views.slice().reverse().map(toMessage));
+      // Mark messages as read
+      axios.post(`/api/messages/chatrooms/${id}/read`);
+    } catch (err) {
+      console.error('Error fetching messages:', err);
+    }
+  }
   
   useEffect(() => {
     // Scroll to bottom when messages update
@@ -181,15 +234,14 @@ const ChatPage = () => {
     setSending(true);
     
     try {
-      const response = await axios.post(`/api/messages/chatrooms/${id}/messages`, {
+      // The server pushes the saved message back on /user/queue/messages, which appends it
+      const sent = stompRef.current?.send('/app/chat.send', {
+        chatRoomId: Number(id),
         content: newMessage.trim()
       });
       
-      setMessages([...messages, response.data]);
-      setNewMessage('');
-      
-      // For demo purposes
-      if (process.env.NODE_ENV === 'development') {
+      // For demo purposes, when no chat server is running
+      if (!sent && process.env.NODE_ENV === 'development') {
         const mockMessage = {
           id: messages.length + 1,
           sender: { id: user?.id || 0, firstName: user?.firstName || '', lastName: user?.lastName || '' },
@@ -199,8 +251,10 @@ const ChatPage = () => {
         };
         
         setMessages([...messages, mockMessage]);
-        setNewMessage('');
+      } else if (!sent) {
+        throw new Error('Not connected to the chat server');
       }
+      setNewMessage('');
     } catch (err) {
       console.error('Error sending message:', err);
     } finally {
@@ -0,0 +1,41 @@
+package com.tutorconnect;
+
+import com.tutorconnect.model.Student;
+import com.tutorconnect.model.Tutor;
+import com.tutorconnect.model.User;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Entities with every required column filled in; emails are unique across the whole test run
+public final class TestFixtures {
+    
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    
+    private TestFixtures() {
+    }
+    
+    public static Tutor tutor(String firstName, String lastName, String bio) {
+        Tutor tutor = new Tutor();
+        fill(tutor, firstName, lastName, User.Role.TUTOR);
+        tutor.setBio(bio);
+        tutor.setTitle("Tutor");
+        tutor.setHourlyRate(30.0);
+        tutor.setYearsOfExperience(5);
+        return tutor;
+    }
+    
+    public static Student student() {
+        Student student = new Student();
+        fill(student, "Student", "Number" + SEQUENCE.get(), User.Role.STUDENT);
+        return student;
+    }
+    
+    private static void fill(User user, String firstName, String lastName, User.Role role) {
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setEmail(role.name().toLowerCase() + SEQUENCE.incrementAndGet() + "@test.local");
+        user.setPassword("password");
+        user.setPhone("0000000000");
+        user.setRole(role);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.tutorconnect.controller.notification;
+
+import com.tutorconnect.TestFixtures;
+import com.tutorconnect.model.Student;
+import com.tutorconnect.repository.StudentRepository;
+import com.tutorconnect.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+// The notification stream opened the way a browser EventSource opens it: no Authorization header,
+// only a stream ticket in the query string. A ticket is good for the stream and nothing else.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class NotificationControllerTest {
+    
+    @MockBean
+    private UserDetailsService userDetailsService;
+    
+    @Autowired
+    private TestRestTemplate restTemplate;
+    
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @LocalServerPort
+    private int port;
+    
+    private HttpHeaders headers;
+    
+    @BeforeEach
+    void authenticate() {
+        Student student = studentRepository.save(TestFixtures.student());
+        when(userDetailsService.loadUserByUsername(student.getEmail())).thenReturn(User.withUsername(student.getEmail())
+                .password("password")
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_STUDENT")))
+                .build());
+        headers = new HttpHeaders();
+        headers.setBearerAuth(jwtTokenProvider.createToken(student.getEmail(), "STUDENT"));
+    }
+    
+    @Test
+    void streamOpensWithTicketInQueryString() throws Exception {
+        HttpResponse<InputStream> stream = openStream("?ticket=" + streamTicket());
+        try (BufferedReader events = new BufferedReader(new InputStreamReader(stream.body(), StandardCharsets.UTF_8))) {
+            assertThat(stream.statusCode()).isEqualTo(200);
+            assertThat(stream.headers().firstValue("Content-Type")).hasValueSatisfying(
+                    type -> assertThat(type).startsWith("text/event-stream"));
+            // The stream starts with the unread count snapshot
+            String line;
+            while ((line = events.readLine()) != null && !line.startsWith("event:")) {
+            }
+            assertThat(line).isEqualTo("event:unread-count");
+        }
+    }
+    
+    @Test
+    void streamWithoutTicketOrWithBadTicketIsRejected() throws Exception {
+        assertThat(openStream("").statusCode()).isEqualTo(403);
+        assertThat(openStream("?ticket=not-a-ticket").statusCode()).isEqualTo(403);
+        // A full token is not accepted in the query string either
+        assertThat(openStream("?ticket=" + headers.getFirst(HttpHeaders.AUTHORIZATION).substring(7)).statusCode())
+                .isEqualTo(403);
+    }
+    
+    @Test
+    void ticketIsNotABearerToken() {
+        HttpHeaders ticketHeaders = new HttpHeaders();
+        ticketHeaders.setBearerAuth(streamTicket());
+        ResponseEntity<String> response = restTemplate.exchange("/api/notifications", HttpMethod.GET,
+                new HttpEntity<>(ticketHeaders), String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+    
+    private String streamTicket() {
+        ResponseEntity<Map<String, String>> response = restTemplate.exchange("/api/notifications/stream-ticket",
+                HttpMethod.POST, new HttpEntity<>(headers), new ParameterizedTypeReference<>() {});
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody().get("ticket");
+    }
+    
+    private HttpResponse<InputStream> openStream(String query) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/notifications/stream" + query))
+                .header("Accept", "text/event-stream")
+                .timeout(Duration.ofSeconds(10))
+                .build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofInputStream());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.tutorconnect.controller.review;
+
+import com.tutorconnect.dto.CursorPage;
+import com.tutorconnect.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+// The review feed over HTTP, through the security filter chain: a cursor is client input, so a
+// malformed one must come back as 400 rather than a server error
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReviewControllerTest {
+    
+    private static final String EMAIL = "cursor-student@test.local";
+    
+    @MockBean
+    private UserDetailsService userDetailsService;
+    
+    @Autowired
+    private TestRestTemplate restTemplate;
+    
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+    
+    private HttpHeaders headers;
+    
+    @BeforeEach
+    void authenticate() {
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(User.withUsername(EMAIL)
+                .password("password")
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_STUDENT")))
+                .build());
+        headers = new HttpHeaders();
+        headers.setBearerAuth(jwtTokenProvider.createToken(EMAIL, "STUDENT"));
+    }
+    
+    @Test
+    void firstPageIsServed() {
+        assertThat(list(null).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+    
+    @Test
+    void cursorThatIsNotBase64IsBadRequest() {
+        assertThat(list("not a cursor!").getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+    
+    @Test
+    void cursorWithWrongPartsIsBadRequest() {
+        assertThat(list(CursorPage.encode(LocalDateTime.now())).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(list(CursorPage.encode(LocalDateTime.now(), "abc")).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(list(CursorPage.encode("yesterday", 7)).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+    
+    private ResponseEntity<String> list(String cursor) {
+        String url = cursor == null ? "/api/reviews/tutors/1" : "/api/reviews/tutors/1?cursor={cursor}";
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class,
+                cursor == null ? new Object[0] : new Object[]{cursor});
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.tutorconnect.controller.tutor;
+
+import com.tutorconnect.TestFixtures;
+import com.tutorconnect.dto.CursorPage;
+import com.tutorconnect.dto.TutorCard;
+import com.tutorconnect.model.Tutor;
+import com.tutorconnect.repository.TutorRepository;
+import com.tutorconnect.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+// Walks the tutor listing page by page over HTTP: rated tutors by rating, then unrated ones, each
+// tutor exactly once, with pages crossing from rated to unrated in the middle
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TutorControllerTest {
+    
+    private static final String EMAIL = "listing-student@test.local";
+    private static final int PAGE_SIZE = 3;
+    
+    @MockBean
+    private UserDetailsService userDetailsService;
+    
+    @Autowired
+    private TestRestTemplate restTemplate;
+    
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+    
+    @Autowired
+    private TutorRepository tutorRepository;
+    
+    private HttpHeaders headers;
+    
+    @BeforeEach
+    void authenticate() {
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(User.withUsername(EMAIL)
+                .password("password")
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_STUDENT")))
+                .build());
+        headers = new HttpHeaders();
+        headers.setBearerAuth(jwtTokenProvider.createToken(EMAIL, "STUDENT"));
+    }
+    
+    @Test
+    void pagesListRatedTutorsThenUnratedOnesOnce() {
+        List<Long> created = new ArrayList<>();
+        for (Double rating : new Double[]{4.5, 4.5, 3.0, null, null, 5.0, null}) {
+            Tutor tutor = TestFixtures.tutor("Listed", "Tutor", "Paged through");
+            tutor.setAverageRating(rating);
+            created.add(tutorRepository.save(tutor).getId());
+        }
+        
+        List<TutorCard> listed = new ArrayList<>();
+        String cursor = null;
+        do {
+            ResponseEntity<CursorPage<TutorCard>> response = list(cursor);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().getItems()).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+            listed.addAll(response.getBody().getItems());
+            cursor = response.getBody().getNextCursor();
+        } while (cursor != null && listed.size() < 10_000);
+        
+        List<Long> ids = listed.stream().map(TutorCard::getId).toList();
+        assertThat(new HashSet<>(ids)).hasSameSizeAs(ids).containsAll(created);
+        assertThat(listed).isSortedAccordingTo(Comparator
+                .comparing(TutorCard::getAverageRating, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(TutorCard::getId, Comparator.reverseOrder()));
+    }
+    
+    private ResponseEntity<CursorPage<TutorCard>> list(String cursor) {
+        String url = "/api/tutors?size=" + PAGE_SIZE + (cursor == null ? "" : "&cursor={cursor}");
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers),
+                new ParameterizedTypeReference<>() {}, cursor == null ? new Object[0] : new Object[]{cursor});
+    }
+}
\ No newline at end of file
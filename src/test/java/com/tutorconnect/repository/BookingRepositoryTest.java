@@ -0,0 +1,99 @@
+package com.tutorconnect.repository;
+
+import com.tutorconnect.TestFixtures;
+import com.tutorconnect.model.Booking;
+import com.tutorconnect.model.Student;
+import com.tutorconnect.model.Subject;
+import com.tutorconnect.model.Tutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// claimReminder against the database: a lead time is claimed once per booking, only for a confirmed
+// booking that still starts at the time the reminder was scheduled for, and only going closer to
+// the start
+@SpringBootTest
+@Transactional
+class BookingRepositoryTest {
+    
+    @MockBean
+    private UserDetailsService userDetailsService;
+    
+    @Autowired
+    private BookingRepository bookingRepository;
+    
+    @Autowired
+    private TutorRepository tutorRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private SubjectRepository subjectRepository;
+    
+    private Tutor tutor;
+    private Student student;
+    private Subject subject;
+    private LocalDateTime startTime;
+    
+    @BeforeEach
+    void createParticipants() {
+        tutor = tutorRepository.save(TestFixtures.tutor("Reminded", "Tutor", "Gets reminders"));
+        student = studentRepository.save(TestFixtures.student());
+        subject = subjectRepository.save(new Subject("Reminder subject " + System.nanoTime(), "Reminders"));
+        startTime = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+    
+    @Test
+    void leadTimeIsClaimedOnce() {
+        Long id = booking(Booking.BookingStatus.CONFIRMED);
+        
+        assertThat(claim(id, startTime, 60)).isEqualTo(1);
+        assertThat(claim(id, startTime, 60)).isZero();
+    }
+    
+    @Test
+    void shorterLeadTimeIsClaimedAfterLongerOne() {
+        Long id = booking(Booking.BookingStatus.CONFIRMED);
+        
+        assertThat(claim(id, startTime, 1440)).isEqualTo(1);
+        assertThat(claim(id, startTime, 60)).isEqualTo(1);
+        // Once the one-hour reminder went out, the day-ahead one is stale
+        assertThat(claim(id, startTime, 1440)).isZero();
+    }
+    
+    @Test
+    void onlyConfirmedBookingsAreClaimed() {
+        for (Booking.BookingStatus status : Booking.BookingStatus.values()) {
+            if (status != Booking.BookingStatus.CONFIRMED) {
+                assertThat(claim(booking(status), startTime, 60)).as(status.name()).isZero();
+            }
+        }
+    }
+    
+    @Test
+    void rescheduledBookingIsNotClaimedForItsOldStart() {
+        Long id = booking(Booking.BookingStatus.CONFIRMED);
+        
+        assertThat(claim(id, startTime.minusHours(2), 60)).isZero();
+        assertThat(claim(id, startTime, 60)).isEqualTo(1);
+    }
+    
+    private Long booking(Booking.BookingStatus status) {
+        Booking booking = new Booking(student, tutor, subject, startTime, startTime.plusHours(1));
+        booking.setStatus(status);
+        return bookingRepository.saveAndFlush(booking).getId();
+    }
+    
+    private int claim(Long id, LocalDateTime scheduledStart, int minutes) {
+        return bookingRepository.claimReminder(id, Booking.BookingStatus.CONFIRMED, scheduledStart, minutes);
+    }
+}
\ No newline at end of file
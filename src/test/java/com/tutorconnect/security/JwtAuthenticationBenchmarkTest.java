@@ -0,0 +1,91 @@
+package com.tutorconnect.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Authenticating the same bearer token on every request: what the filter did before (build a
+// parser, verify the token twice and load the user, each request) against authenticate, which
+// verifies and loads once and then answers from JwtAuthenticationCache. The user lookup is a mock
+// here, so the gap in production, where it is a database query, is larger.
+// Run with: mvn test -Pbenchmark -Dtest=JwtAuthenticationBenchmarkTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtAuthenticationBenchmarkTest {
+    
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final int REQUESTS = 100_000;
+    private static final int WARMUP = 10_000;
+    
+    @Test
+    void cachedAuthenticateIsFasterThanParsingEveryRequest() {
+        UserDetails user = User.withUsername("student@test.local")
+                .password("password")
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_STUDENT")))
+                .build();
+        UserDetailsService userDetailsService = mock(UserDetailsService.class);
+        when(userDetailsService.loadUserByUsername(anyString())).thenReturn(user);
+        TokenRevocationService tokenRevocationService = mock(TokenRevocationService.class);
+        when(tokenRevocationService.isRevoked(any(), anyString(), anyLong())).thenReturn(false);
+        
+        JwtAuthenticationCache cache = new JwtAuthenticationCache();
+        ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 10_000);
+        
+        JwtTokenProvider provider = new JwtTokenProvider(userDetailsService, cache, tokenRevocationService);
+        ReflectionTestUtils.setField(provider, "secretKey", SECRET);
+        ReflectionTestUtils.setField(provider, "validityInMilliseconds", 3_600_000L);
+        provider.init();
+        String token = provider.createToken(user.getUsername(), "STUDENT");
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        
+        for (int i = 0; i < WARMUP; i++) {
+            parseEveryTime(token, key, userDetailsService);
+            provider.authenticate(token);
+        }
+        
+        long started = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            assertThat(parseEveryTime(token, key, userDetailsService)).isNotNull();
+        }
+        long parseNanos = System.nanoTime() - started;
+        
+        started = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            assertThat(provider.authenticate(token)).isNotNull();
+        }
+        long cachedNanos = System.nanoTime() - started;
+        
+        System.out.printf("%d requests: parse every time %.2f us/request, cached authenticate %.2f us/request%n",
+                REQUESTS, parseNanos / 1000.0 / REQUESTS, cachedNanos / 1000.0 / REQUESTS);
+        assertThat(cachedNanos).isLessThan(parseNanos);
+    }
+    
+    // The filter before the change: validateToken and getAuthentication each built a parser and
+    // verified the signature, and every request loaded the user
+    private static Authentication parseEveryTime(String token, Key key, UserDetailsService userDetailsService) {
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.tutorconnect.security;
+
+import com.tutorconnect.TestFixtures;
+import com.tutorconnect.model.Student;
+import com.tutorconnect.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+// Revoking all of a user's tokens: iat has second precision, so every token issued in the second
+// of the revocation is rejected, and tokens issued from the next second on are accepted. Checked
+// against the in-memory cutoffs and again after a reload from the database.
+@SpringBootTest
+class TokenRevocationServiceTest {
+    
+    @MockBean
+    private UserDetailsService userDetailsService;
+    
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+    
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    private String email;
+    
+    @BeforeEach
+    void createUser() {
+        email = studentRepository.save(TestFixtures.student()).getEmail();
+        when(userDetailsService.loadUserByUsername(anyString())).thenAnswer(invocation -> User
+                .withUsername(invocation.getArgument(0, String.class))
+                .password("password")
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_STUDENT")))
+                .build());
+    }
+    
+    @Test
+    void tokenIssuedInTheSecondOfTheRevocationIsRejected() {
+        String token = jwtTokenProvider.createToken(email, "STUDENT");
+        assertThat(jwtTokenProvider.authenticate(token)).isNotNull();
+        
+        long beforeRevoking = System.currentTimeMillis();
+        tokenRevocationService.revokeAllForUser(email);
+        
+        assertThat(jwtTokenProvider.authenticate(token)).isNull();
+        // The iat of any token issued in the second the revocation started, before or after it
+        long sameSecond = beforeRevoking / 1000 * 1000;
+        assertThat(tokenRevocationService.isRevoked(null, email, sameSecond)).isTrue();
+        
+        tokenRevocationService.reload();
+        assertThat(tokenRevocationService.isRevoked(null, email, sameSecond)).isTrue();
+    }
+    
+    @Test
+    void tokenIssuedAfterTheCutoffSecondIsAccepted() throws InterruptedException {
+        tokenRevocationService.revokeAllForUser(email);
+        long nextSecond = (System.currentTimeMillis() / 1000 + 1) * 1000;
+        assertThat(tokenRevocationService.isRevoked(null, email, nextSecond)).isFalse();
+        
+        Thread.sleep(Math.max(0, nextSecond - System.currentTimeMillis()));
+        String token = jwtTokenProvider.createToken(email, "STUDENT");
+        assertThat(jwtTokenProvider.authenticate(token)).isNotNull();
+        
+        tokenRevocationService.reload();
+        assertThat(jwtTokenProvider.authenticate(token)).isNotNull();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,199 @@
+package com.tutorconnect.service;
+
+import com.tutorconnect.TestFixtures;
+import com.tutorconnect.dto.BulkTransitionResult;
+import com.tutorconnect.model.Booking;
+import com.tutorconnect.model.Student;
+import com.tutorconnect.model.Subject;
+import com.tutorconnect.model.Tutor;
+import com.tutorconnect.repository.BookingRepository;
+import com.tutorconnect.repository.StudentRepository;
+import com.tutorconnect.repository.SubjectRepository;
+import com.tutorconnect.repository.TutorRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Parallel requests for overlapping times with one tutor must produce exactly one active booking,
+// and parallel bulk status changes must move each booking once.
+// The throughput benchmark runs with: mvn test -Pbenchmark -Dtest=BookingConcurrencyTest
+@SpringBootTest
+class BookingConcurrencyTest {
+    
+    private static final int REQUESTS = 16;
+    
+    @MockBean
+    private UserDetailsService userDetailsService;
+    
+    @Autowired
+    private TutorRepository tutorRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private SubjectRepository subjectRepository;
+    
+    @Autowired
+    private BookingService bookingService;
+    
+    @Autowired
+    private BookingRepository bookingRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void overlappingParallelBookingsLeaveOneActiveBooking() throws Exception {
+        Tutor tutor = tutorRepository.save(TestFixtures.tutor("Busy", "Tutor", "Booked in parallel"));
+        Subject subject = subjectRepository.save(new Subject("Booking subject " + System.nanoTime(), "Parallel bookings"));
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            students.add(studentRepository.save(TestFixtures.student()));
+        }
+        
+        // Every requested hour overlaps every other one
+        LocalDateTime base = LocalDateTime.now().plusDays(2).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        ExecutorService pool = Executors.newFixedThreadPool(REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        try {
+            List<Future<?>> requests = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                LocalDateTime startTime = base.plusMinutes(i);
+                Student student = students.get(i);
+                requests.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        bookingService.createBooking(new Booking(student, tutor, subject, startTime, startTime.plusHours(1)));
+                        created.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        assertThat(e).hasMessage("Booking conflicts with an existing booking");
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> request : requests) {
+                request.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        
+        Integer active = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM bookings WHERE tutor_id = ? AND status IN ('PENDING', 'CONFIRMED')",
+                Integer.class, tutor.getId());
+        assertThat(created.get()).isEqualTo(1);
+        assertThat(rejected.get()).isEqualTo(REQUESTS - 1);
+        assertThat(active).isEqualTo(1);
+    }
+    
+    // Confirming and rejecting the same pending bookings in parallel: each booking moves exactly
+    // once, and each call reports as updated exactly the bookings it moved
+    @Test
+    void parallelBulkTransitionsEachChangeABookingOnce() throws Exception {
+        Tutor tutor = tutorRepository.save(TestFixtures.tutor("Bulk", "Tutor", "Changed in parallel"));
+        Student student = studentRepository.save(TestFixtures.student());
+        Subject subject = subjectRepository.save(new Subject("Bulk subject " + System.nanoTime(), "Parallel changes"));
+        LocalDateTime base = LocalDateTime.now().plusDays(3).withHour(8).withMinute(0).withSecond(0).withNano(0);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            LocalDateTime startTime = base.plusHours(i);
+            ids.add(bookingRepository.save(new Booking(student, tutor, subject, startTime, startTime.plusMinutes(30))).getId());
+        }
+        
+        List<Booking.BookingStatus> targets = List.of(Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.REJECTED);
+        ExecutorService pool = Executors.newFixedThreadPool(targets.size() * 2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<BulkTransitionResult> results;
+        try {
+            List<Future<BulkTransitionResult>> calls = new ArrayList<>();
+            for (int i = 0; i < targets.size() * 2; i++) {
+                Booking.BookingStatus target = targets.get(i % targets.size());
+                // Half of the calls go in reverse order, which must not deadlock
+                List<Long> order = new ArrayList<>(ids);
+                if (i >= targets.size()) {
+                    Collections.reverse(order);
+                }
+                calls.add(pool.submit(() -> {
+                    start.await();
+                    return bookingService.transitionBookings(order, target, tutor);
+                }));
+            }
+            start.countDown();
+            results = new ArrayList<>();
+            for (Future<BulkTransitionResult> call : calls) {
+                results.add(call.get(1, TimeUnit.MINUTES));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        
+        Map<Long, Booking.BookingStatus> movedTo = new HashMap<>();
+        for (BulkTransitionResult result : results) {
+            for (Long id : result.getUpdated()) {
+                assertThat(movedTo.put(id, result.getStatus())).as("booking %d moved twice", id).isNull();
+            }
+            assertThat(result.getUpdated().size() + result.getSkipped().size()).isEqualTo(ids.size());
+        }
+        assertThat(movedTo.keySet()).containsExactlyInAnyOrderElementsOf(ids);
+        for (Booking booking : bookingRepository.findAllById(ids)) {
+            assertThat(booking.getStatus()).isEqualTo(movedTo.get(booking.getId()));
+        }
+    }
+    
+    // Non-overlapping bookings spread over a few tutors: requests for different tutors never wait
+    // on each other, requests for the same tutor serialize on its lock
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void bookingThroughput() throws Exception {
+        int tutorCount = 8;
+        int bookingsPerTutor = 50;
+        List<Tutor> tutors = new ArrayList<>();
+        for (int i = 0; i < tutorCount; i++) {
+            tutors.add(tutorRepository.save(TestFixtures.tutor("Throughput", "Tutor" + i, "Benchmark")));
+        }
+        Student student = studentRepository.save(TestFixtures.student());
+        Subject subject = subjectRepository.save(new Subject("Throughput subject " + System.nanoTime(), "Benchmark"));
+        LocalDateTime base = LocalDateTime.now().plusDays(30).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        
+        ExecutorService pool = Executors.newFixedThreadPool(REQUESTS);
+        try {
+            List<Future<?>> requests = new ArrayList<>();
+            long started = System.nanoTime();
+            for (int i = 0; i < bookingsPerTutor; i++) {
+                LocalDateTime startTime = base.plusHours(i);
+                for (Tutor tutor : tutors) {
+                    requests.add(pool.submit(() -> bookingService.createBooking(
+                            new Booking(student, tutor, subject, startTime, startTime.plusMinutes(45)))));
+                }
+            }
+            for (Future<?> request : requests) {
+                request.get(1, TimeUnit.MINUTES);
+            }
+            double seconds = (System.nanoTime() - started) / 1e9;
+            System.out.printf("Created %d bookings for %d tutors on %d threads: %.0f bookings/s%n",
+                    requests.size(), tutorCount, REQUESTS, requests.size() / seconds);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
\ No newline at end of file
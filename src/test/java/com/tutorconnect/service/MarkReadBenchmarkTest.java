@@ -0,0 +1,156 @@
+package com.tutorconnect.service;
+
+import com.tutorconnect.TestFixtures;
+import com.tutorconnect.model.ChatRoom;
+import com.tutorconnect.model.Message;
+import com.tutorconnect.model.Notification;
+import com.tutorconnect.model.Student;
+import com.tutorconnect.model.Tutor;
+import com.tutorconnect.repository.ChatRoomRepository;
+import com.tutorconnect.repository.MessageRepository;
+import com.tutorconnect.repository.NotificationRepository;
+import com.tutorconnect.repository.StudentRepository;
+import com.tutorconnect.repository.TutorRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Marking 10k unread notifications and 10k unread chat messages read: the single bulk UPDATE
+// against loading the entities and saving each one back, which is what the services did before.
+// Run with: mvn test -Pbenchmark -Dtest=MarkReadBenchmarkTest
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class MarkReadBenchmarkTest {
+    
+    private static final int UNREAD = 10_000;
+    
+    @MockBean
+    private UserDetailsService userDetailsService;
+    
+    @Autowired
+    private TutorRepository tutorRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+    
+    @Autowired
+    private NotificationRepository notificationRepository;
+    
+    @Autowired
+    private MessageRepository messageRepository;
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    @Autowired
+    private MessageService messageService;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void markAllNotificationsRead() {
+        Student student = studentRepository.save(TestFixtures.student());
+        Long userId = student.getId();
+        insertNotifications(userId);
+        
+        long started = System.nanoTime();
+        int perEntity = transactionTemplate.execute(status -> {
+            List<Notification> unread = notificationRepository.findByUserIdAndReadFalseOrderByCreatedAtDesc(userId);
+            LocalDateTime now = LocalDateTime.now();
+            for (Notification notification : unread) {
+                notification.setRead(true);
+                notification.setReadAt(now);
+            }
+            notificationRepository.saveAll(unread);
+            return unread.size();
+        });
+        long perEntityMillis = (System.nanoTime() - started) / 1_000_000;
+        
+        jdbcTemplate.update("UPDATE notifications SET read = false, read_at = NULL WHERE user_id = ?", userId);
+        started = System.nanoTime();
+        int bulk = notificationService.markAllNotificationsAsRead(userId);
+        long bulkMillis = (System.nanoTime() - started) / 1_000_000;
+        
+        assertThat(perEntity).isEqualTo(UNREAD);
+        assertThat(bulk).isEqualTo(UNREAD);
+        assertThat(notificationService.countUnreadNotificationsByUserId(userId)).isZero();
+        System.out.printf("%d notifications: load and save %d ms, bulk UPDATE %d ms%n",
+                UNREAD, perEntityMillis, bulkMillis);
+    }
+    
+    @Test
+    void markChatRoomRead() {
+        Tutor tutor = tutorRepository.save(TestFixtures.tutor("Chatty", "Tutor", "Sends many messages"));
+        Student student = studentRepository.save(TestFixtures.student());
+        ChatRoom chatRoom = chatRoomRepository.save(new ChatRoom(student, tutor));
+        insertMessages(chatRoom.getId(), tutor.getId());
+        Long chatRoomId = chatRoom.getId();
+        Long userId = student.getId();
+        
+        long started = System.nanoTime();
+        int perEntity = transactionTemplate.execute(status -> {
+            List<Message> unread = new ArrayList<>();
+            LocalDateTime now = LocalDateTime.now();
+            for (Message message : messageRepository.findByChatRoomIdOrderBySentAtAsc(chatRoomId)) {
+                if (!message.isRead() && !message.getSender().getId().equals(userId)) {
+                    message.setRead(true);
+                    message.setReadAt(now);
+                    unread.add(message);
+                }
+            }
+            messageRepository.saveAll(unread);
+            return unread.size();
+        });
+        long perEntityMillis = (System.nanoTime() - started) / 1_000_000;
+        
+        jdbcTemplate.update("UPDATE messages SET read = false, read_at = NULL WHERE chat_room_id = ?", chatRoomId);
+        started = System.nanoTime();
+        int bulk = messageService.markMessagesAsRead(chatRoomId, userId);
+        long bulkMillis = (System.nanoTime() - started) / 1_000_000;
+        
+        assertThat(perEntity).isEqualTo(UNREAD);
+        assertThat(bulk).isEqualTo(UNREAD);
+        assertThat(messageService.getUnreadMessageCount(userId)).isZero();
+        System.out.printf("%d messages: load and save %d ms, bulk UPDATE %d ms%n",
+                UNREAD, perEntityMillis, bulkMillis);
+    }
+    
+    private void insertNotifications(Long userId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(UNREAD);
+        for (int i = 0; i < UNREAD; i++) {
+            rows.add(new Object[]{userId, "Notification " + i, "Unread", "SYSTEM_ALERT", now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO notifications (user_id, title, message, read, type, created_at, " +
+                "occurrences, last_occurred_at) VALUES (?, ?, ?, false, ?, ?, 1, ?)", rows);
+    }
+    
+    private void insertMessages(Long chatRoomId, Long senderId) {
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        List<Object[]> rows = new ArrayList<>(UNREAD);
+        for (int i = 0; i < UNREAD; i++) {
+            rows.add(new Object[]{chatRoomId, senderId, "Message " + i, Timestamp.valueOf(start.plusSeconds(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO messages (chat_room_id, sender_id, content, sent_at, read) " +
+                "VALUES (?, ?, ?, ?, false)", rows);
+    }
+}
\ No newline at end of file
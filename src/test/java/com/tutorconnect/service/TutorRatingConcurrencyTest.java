@@ -0,0 +1,122 @@
+package com.tutorconnect.service;
+
+import com.tutorconnect.TestFixtures;
+import com.tutorconnect.model.Review;
+import com.tutorconnect.model.Student;
+import com.tutorconnect.model.Subject;
+import com.tutorconnect.model.Tutor;
+import com.tutorconnect.repository.StudentRepository;
+import com.tutorconnect.repository.SubjectRepository;
+import com.tutorconnect.repository.TutorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// Reviews posted from many threads while the tutor entity is saved concurrently must leave the
+// tutor's rating columns equal to the aggregates of the reviews table
+@SpringBootTest
+class TutorRatingConcurrencyTest {
+    
+    private static final int THREADS = 8;
+    private static final int REVIEWS_PER_THREAD = 25;
+    
+    @MockBean
+    private UserDetailsService userDetailsService;
+    
+    @Autowired
+    private TutorRepository tutorRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private SubjectRepository subjectRepository;
+    
+    @Autowired
+    private ReviewService reviewService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private TutorRatingAggregator tutorRatingAggregator;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void ratingsMatchReviewsAfterConcurrentReviewsAndTutorSaves() throws Exception {
+        Tutor tutor = tutorRepository.save(TestFixtures.tutor("Stress", "Tutor", "Rated concurrently"));
+        Subject subject = subjectRepository.save(new Subject("Stress subject " + System.nanoTime(), "Toggled during the test"));
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            students.add(studentRepository.save(TestFixtures.student()));
+        }
+        
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean reviewing = new AtomicBoolean(true);
+        try {
+            List<Future<?>> reviewers = new ArrayList<>();
+            for (Student student : students) {
+                reviewers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < REVIEWS_PER_THREAD; i++) {
+                        Review review = new Review();
+                        review.setTutor(tutor);
+                        review.setStudent(student);
+                        review.setRating(1 + i % 5);
+                        review.setComment("Review " + i);
+                        reviewService.createReview(review);
+                        if (i % 5 == 0) {
+                            tutorRatingAggregator.flush();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            
+            // Loads and saves the tutor entity in a loop, so flushes land between its load and commit
+            Future<?> tutorSaves = pool.submit(() -> {
+                start.await();
+                while (reviewing.get()) {
+                    userService.addTutorSubject(tutor.getId(), subject.getId());
+                    userService.removeTutorSubject(tutor.getId(), subject.getId());
+                }
+                return null;
+            });
+            
+            start.countDown();
+            for (Future<?> reviewer : reviewers) {
+                reviewer.get(2, TimeUnit.MINUTES);
+            }
+            reviewing.set(false);
+            tutorSaves.get(1, TimeUnit.MINUTES);
+        } finally {
+            pool.shutdownNow();
+        }
+        tutorRatingAggregator.flush();
+        
+        Long expectedSum = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(rating), 0) FROM reviews WHERE tutor_id = ?", Long.class, tutor.getId());
+        Integer expectedCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM reviews WHERE tutor_id = ?", Integer.class, tutor.getId());
+        Tutor reloaded = tutorRepository.findById(tutor.getId()).orElseThrow();
+        
+        assertThat(expectedCount).isEqualTo(THREADS * REVIEWS_PER_THREAD);
+        assertThat(reloaded.getTotalReviews()).isEqualTo(expectedCount);
+        assertThat(reloaded.getRatingSum()).isEqualTo(expectedSum);
+        assertThat(reloaded.getAverageRating()).isCloseTo((double) expectedSum / expectedCount, within(1e-9));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.tutorconnect.service.availability;
+
+import com.tutorconnect.dto.BookingInterval;
+import com.tutorconnect.dto.TimeSlot;
+import com.tutorconnect.dto.TutorCard;
+import com.tutorconnect.repository.BookingRepository;
+import com.tutorconnect.repository.BookingSeriesCancellationRepository;
+import com.tutorconnect.repository.BookingSeriesRepository;
+import com.tutorconnect.repository.TutorScheduleRepository;
+import com.tutorconnect.service.search.TutorFacetIndex;
+import com.tutorconnect.service.search.TutorSortOrder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.*;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// "Who is free at this time" over 100k tutors: the slot index against checking every tutor's
+// TutorAvailability, which is what answering the query without the index amounts to.
+// Run with: mvn test -Pbenchmark -Dtest=TutorSlotIndexBenchmarkTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TutorSlotIndexBenchmarkTest {
+    
+    private static final int TUTORS = 100_000;
+    private static final int QUERIES = 50;
+    
+    @Test
+    void slotIndexMatchesPerTutorScanAndIsFaster() {
+        Random random = new Random(7);
+        LocalDate monday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        
+        List<TutorCard> cards = new ArrayList<>(TUTORS);
+        List<Object[]> windows = new ArrayList<>(TUTORS);
+        List<BookingInterval> intervals = new ArrayList<>();
+        Map<Long, TutorAvailability> perTutor = new HashMap<>(TUTORS * 2);
+        for (long id = 1; id <= TUTORS; id++) {
+            cards.add(new TutorCard(id, "Tutor", "Number" + id, "Title", "Bio",
+                    20.0 + id % 50, (int) (id % 20), (id % 50) / 10.0, 0, null));
+            
+            TutorAvailability availability = new TutorAvailability();
+            DayOfWeek day = DayOfWeek.of(1 + random.nextInt(5));
+            LocalTime start = LocalTime.of(8 + random.nextInt(6), 0);
+            LocalTime end = start.plusHours(2 + random.nextInt(4));
+            windows.add(new Object[]{id, day, start, end});
+            availability.addWindow(day, start, end);
+            
+            if (random.nextInt(5) == 0) {
+                LocalDateTime bookingStart = monday.plusDays(day.ordinal()).atTime(start).plusMinutes(15L * random.nextInt(8));
+                intervals.add(new Interval(id, id, bookingStart, bookingStart.plusMinutes(45)));
+                availability.putBooking(id, bookingStart, bookingStart.plusMinutes(45));
+            }
+            perTutor.put(id, availability);
+        }
+        
+        TutorFacetIndex facetIndex = new TutorFacetIndex();
+        facetIndex.rebuild(cards);
+        TutorScheduleRepository schedules = mock(TutorScheduleRepository.class);
+        BookingRepository bookings = mock(BookingRepository.class);
+        BookingSeriesRepository series = mock(BookingSeriesRepository.class);
+        when(schedules.findAvailableWindows()).thenReturn(windows);
+        when(bookings.findIntervals(any(), any())).thenReturn(intervals);
+        when(series.findByStatusInAndEndDateGreaterThanEqual(any(), any())).thenReturn(List.of());
+        TutorSlotIndex index = new TutorSlotIndex(facetIndex, schedules, bookings, series,
+                mock(BookingSeriesCancellationRepository.class));
+        index.rebuild();
+        
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (int i = 0; i < QUERIES; i++) {
+            starts.add(monday.plusDays(random.nextInt(5)).atTime(9 + random.nextInt(8), 15 * random.nextInt(4)));
+        }
+        
+        for (LocalDateTime start : starts.subList(0, 5)) {
+            Set<Long> indexed = new HashSet<>();
+            for (TutorCard card : index.findFreeTutors(start, start.plusHours(1), null, TutorSortOrder.RATING, TUTORS)) {
+                indexed.add(card.getId());
+            }
+            assertThat(indexed).isEqualTo(scan(perTutor, start, start.plusHours(1)));
+        }
+        
+        long started = System.nanoTime();
+        for (LocalDateTime start : starts) {
+            index.findFreeTutors(start, start.plusHours(1), null, TutorSortOrder.RATING, 20);
+        }
+        long indexNanos = System.nanoTime() - started;
+        
+        started = System.nanoTime();
+        for (LocalDateTime start : starts) {
+            scan(perTutor, start, start.plusHours(1));
+        }
+        long scanNanos = System.nanoTime() - started;
+        
+        System.out.printf("Free tutor query over %d tutors: per-tutor scan %.3f ms/query, slot index %.3f ms/query%n",
+                TUTORS, scanNanos / 1e6 / QUERIES, indexNanos / 1e6 / QUERIES);
+        assertThat(indexNanos).isLessThan(scanNanos);
+    }
+    
+    private static Set<Long> scan(Map<Long, TutorAvailability> perTutor, LocalDateTime start, LocalDateTime end) {
+        Set<Long> free = new HashSet<>();
+        for (Map.Entry<Long, TutorAvailability> entry : perTutor.entrySet()) {
+            List<TimeSlot> slots = entry.getValue().freeSlots(start, end);
+            if (slots.size() == 1 && slots.get(0).getStart().equals(start) && slots.get(0).getEnd().equals(end)) {
+                free.add(entry.getKey());
+            }
+        }
+        return free;
+    }
+    
+    private record Interval(Long getId, Long getTutorId, LocalDateTime getStartTime, LocalDateTime getEndTime)
+            implements BookingInterval {
+    }
+}
\ No newline at end of file
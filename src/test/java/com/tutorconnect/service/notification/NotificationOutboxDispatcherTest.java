@@ -0,0 +1,146 @@
+package com.tutorconnect.service.notification;
+
+import com.tutorconnect.TestFixtures;
+import com.tutorconnect.model.Notification;
+import com.tutorconnect.model.NotificationOutboxEvent;
+import com.tutorconnect.model.Student;
+import com.tutorconnect.model.User;
+import com.tutorconnect.repository.NotificationOutboxRepository;
+import com.tutorconnect.repository.StudentRepository;
+import com.tutorconnect.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+// Events enqueued in the outbox and drained by dispatch: each recipient's notifications arrive in
+// the order they were enqueued, and an event that keeps failing holds back its recipient's later
+// events until it is given up on as FAILED. The test has a database of its own, since the
+// dispatchers of other cached test contexts would drain a shared outbox, and its own first
+// scheduled run is an hour out, so only the test calls dispatch. No backoff and no lease let
+// each call retry at once.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "notifications.outbox.poll-interval-ms=3600000",
+        "notifications.outbox.max-attempts=3",
+        "notifications.outbox.initial-backoff-ms=0",
+        "notifications.outbox.lease-seconds=0"
+})
+class NotificationOutboxDispatcherTest {
+    
+    private static final String POISON = "Undeliverable";
+    
+    @MockBean
+    private UserDetailsService userDetailsService;
+    
+    @SpyBean
+    private NotificationService notificationService;
+    
+    @Autowired
+    private NotificationOutbox notificationOutbox;
+    
+    @Autowired
+    private NotificationOutboxDispatcher dispatcher;
+    
+    @Autowired
+    private NotificationOutboxRepository notificationOutboxRepository;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    // (recipient id, title) of every delivery attempt, in the order they were made
+    private final List<Map.Entry<Long, String>> attempts = Collections.synchronizedList(new ArrayList<>());
+    
+    @BeforeEach
+    void recordDeliveries() {
+        doAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            String title = invocation.getArgument(1);
+            attempts.add(Map.entry(user.getId(), title));
+            if (title.startsWith(POISON)) {
+                throw new IllegalStateException("Delivery refused");
+            }
+            return invocation.callRealMethod();
+        }).when(notificationService).deliver(any(), anyString(), anyString(), any(), any(), anyInt());
+    }
+    
+    @Test
+    void eachRecipientReceivesEventsInOrder() {
+        List<Student> recipients = List.of(
+                studentRepository.save(TestFixtures.student()),
+                studentRepository.save(TestFixtures.student()),
+                studentRepository.save(TestFixtures.student()));
+        for (int i = 0; i < 20; i++) {
+            for (Student recipient : recipients) {
+                notificationOutbox.enqueue(recipient, "Event " + i, "Message " + i,
+                        Notification.NotificationType.SYSTEM_ALERT, null);
+            }
+        }
+        
+        dispatcher.dispatch();
+        
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            expected.add("Event " + i);
+        }
+        for (Student recipient : recipients) {
+            assertThat(titlesAttemptedFor(recipient)).containsExactlyElementsOf(expected);
+        }
+    }
+    
+    @Test
+    void failingEventHoldsBackItsRecipientUntilItIsGivenUp() {
+        Student blocked = studentRepository.save(TestFixtures.student());
+        Student other = studentRepository.save(TestFixtures.student());
+        notificationOutbox.enqueue(blocked, POISON, "Always fails", Notification.NotificationType.SYSTEM_ALERT, null);
+        notificationOutbox.enqueue(blocked, "After the failure", "Waits", Notification.NotificationType.SYSTEM_ALERT, null);
+        notificationOutbox.enqueue(other, "Unaffected", "Goes out", Notification.NotificationType.SYSTEM_ALERT, null);
+        
+        for (int run = 0; run < 3; run++) {
+            dispatcher.dispatch();
+        }
+        
+        // Three attempts, and nothing for the same recipient in between
+        assertThat(titlesAttemptedFor(blocked)).containsExactly(POISON, POISON, POISON);
+        assertThat(titlesAttemptedFor(other)).containsExactly("Unaffected");
+        NotificationOutboxEvent failed = eventsFor(blocked).get(0);
+        assertThat(failed.getTitle()).isEqualTo(POISON);
+        assertThat(failed.getStatus()).isEqualTo(NotificationOutboxEvent.Status.FAILED);
+        assertThat(failed.getAttempts()).isEqualTo(3);
+        assertThat(failed.getLastError()).isEqualTo("Delivery refused");
+        
+        // Once the failed event is out of the way, the next one goes out, and the failed one is
+        // not attempted again
+        dispatcher.dispatch();
+        
+        assertThat(titlesAttemptedFor(blocked)).containsExactly(POISON, POISON, POISON, "After the failure");
+        assertThat(eventsFor(blocked)).extracting(NotificationOutboxEvent::getTitle).containsExactly(POISON);
+    }
+    
+    private List<String> titlesAttemptedFor(User recipient) {
+        return attempts.stream()
+                .filter(attempt -> attempt.getKey().equals(recipient.getId()))
+                .map(Map.Entry::getValue)
+                .toList();
+    }
+    
+    private List<NotificationOutboxEvent> eventsFor(User recipient) {
+        return notificationOutboxRepository.findAll().stream()
+                .filter(event -> event.getRecipientId().equals(recipient.getId()))
+                .toList();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.tutorconnect.service.search;
+
+import com.tutorconnect.TestFixtures;
+import com.tutorconnect.model.Tutor;
+import com.tutorconnect.repository.TutorRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Keyword search through the inverted index against the LIKE scan it replaced.
+// Run with: mvn test -Pbenchmark -Dtest=TutorSearchBenchmarkTest
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TutorSearchBenchmarkTest {
+    
+    private static final int TUTORS = 5_000;
+    private static final int ROUNDS = 200;
+    private static final String[] WORDS = {
+            "algebra", "biology", "chemistry", "drama", "economics", "french", "geometry", "history",
+            "informatics", "japanese", "kinematics", "literature", "music", "nutrition", "optics", "physics"
+    };
+    
+    @MockBean
+    private UserDetailsService userDetailsService;
+    
+    @Autowired
+    private TutorRepository tutorRepository;
+    
+    @Autowired
+    private TutorSearchService tutorSearchService;
+    
+    @Test
+    void indexMatchesLikeScanAndIsFaster() {
+        Random random = new Random(42);
+        List<Tutor> tutors = new ArrayList<>(TUTORS);
+        for (int i = 0; i < TUTORS; i++) {
+            String bio = "Teaches " + WORDS[random.nextInt(WORDS.length)] + " and " + WORDS[random.nextInt(WORDS.length)];
+            tutors.add(TestFixtures.tutor("Bench", "Tutor" + i, bio));
+        }
+        tutorRepository.saveAll(tutors);
+        tutorSearchService.rebuild();
+        
+        for (String word : WORDS) {
+            Set<Long> scanned = tutorRepository.findByKeyword(word).stream().map(Tutor::getId).collect(Collectors.toSet());
+            assertThat(tutorSearchService.findTutorIdsByKeyword(word)).containsAll(scanned);
+        }
+        
+        long likeNanos = time(word -> tutorRepository.findByKeyword(word).size());
+        long indexNanos = time(word -> tutorSearchService.findTutorIdsByKeyword(word).size());
+        System.out.printf("Keyword search over %d tutors: LIKE scan %.3f ms/query, index %.3f ms/query%n",
+                TUTORS, likeNanos / 1e6 / ROUNDS, indexNanos / 1e6 / ROUNDS);
+        
+        assertThat(indexNanos).isLessThan(likeNanos);
+    }
+    
+    private long time(ToIntFunction<String> query) {
+        // Warm up, then measure
+        for (int i = 0; i < ROUNDS; i++) {
+            query.applyAsInt(WORDS[i % WORDS.length]);
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            query.applyAsInt(WORDS[i % WORDS.length]);
+        }
+        return System.nanoTime() - started;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+// Minimal STOMP 1.2 client over the browser WebSocket, enough for the chat user queues on /ws.
+// Reconnects with backoff and re-subscribes; onConnect runs after every (re)connect so callers
+// can catch up on anything missed while disconnected.
+
+type MessageHandler = (body: any) => void;
+
+interface StompClientOptions {
+  token: string;
+  onConnect?: () => void;
+}
+
+const NULL = '\u0000';
+const MAX_RECONNECT_DELAY_MS = 30000;
+
+export class StompClient {
+  private socket: WebSocket | null = null;
+  private connected = false;
+  private closed = false;
+  private reconnectDelay = 1000;
+  private nextSubscriptionId = 0;
+  private subscriptions = new Map<string, { destination: string; handler: MessageHandler }>();
+
+  constructor(private readonly options: StompClientOptions) {}
+
+  connect() {
+    this.closed = false;
+    const protocol = window.location.protocol === 'https:' ? 'wss:' : 'ws:';
+    const socket = new WebSocket(`${protocol}//${window.location.host}/ws`);
+    this.socket = socket;
+
+    socket.onopen = () => {
+      this.sendFrame('CONNECT', {
+        'accept-version': '1.2',
+        host: window.location.hostname,
+        Authorization: `Bearer ${this.options.token}`,
+      });
+    };
+    socket.onmessage = (event) => this.handleData(String(event.data));
+    socket.onclose = () => {
+      this.connected = false;
+      if (!this.closed) {
+        setTimeout(() => this.connect(), this.reconnectDelay);
+        this.reconnectDelay = Math.min(this.reconnectDelay * 2, MAX_RECONNECT_DELAY_MS);
+      }
+    };
+  }
+
+  disconnect() {
+    this.closed = true;
+    if (this.connected) {
+      this.sendFrame('DISCONNECT', {});
+    }
+    this.socket?.close();
+    this.socket = null;
+    this.connected = false;
+  }
+
+  subscribe(destination: string, handler: MessageHandler) {
+    const id = `sub-${this.nextSubscriptionId++}`;
+    this.subscriptions.set(id, { destination, handler });
+    if (this.connected) {
+      this.sendFrame('SUBSCRIBE', { id, destination });
+    }
+    return () => {
+      this.subscriptions.delete(id);
+      if (this.connected) {
+        this.sendFrame('UNSUBSCRIBE', { id });
+      }
+    };
+  }
+
+  send(destination: string, body: unknown) {
+    if (!this.connected) {
+      return false;
+    }
+    this.sendFrame('SEND', { destination, 'content-type': 'application/json' }, JSON.stringify(body));
+    return true;
+  }
+
+  private handleData(data: string) {
+    for (const frame of data.split(NULL)) {
+      const trimmed = frame.replace(/^\n+/, '');
+      if (!trimmed) {
+        continue;
+      }
+      const headerEnd = trimmed.indexOf('\n\n');
+      const head = headerEnd >= 0 ? trimmed.substring(0, headerEnd) : trimmed;
+      const body = headerEnd >= 0 ? trimmed.substring(headerEnd + 2) : '';
+      const [command, ...headerLines] = head.split('\n');
+      const headers: Record<string, string> = {};
+      for (const line of headerLines) {
+        const separator = line.indexOf(':');
+        if (separator > 0 && !(line.substring(0, separator) in headers)) {
+          headers[line.substring(0, separator)] = line.substring(separator + 1);
+        }
+      }
+      this.handleFrame(command, headers, body);
+    }
+  }
+
+  private handleFrame(command: string, headers: Record<string, string>, body: string) {
+    if (command === 'CONNECTED') {
+      this.connected = true;
+      this.reconnectDelay = 1000;
+      this.subscriptions.forEach(({ destination }, id) => this.sendFrame('SUBSCRIBE', { id, destination }));
+      this.options.onConnect?.();
+    } else if (command === 'MESSAGE') {
+      const subscription = this.subscriptions.get(headers.subscription);
+      if (subscription) {
+        subscription.handler(body ? JSON.parse(body) : null);
+      }
+    } else if (command === 'ERROR') {
+      console.error('STOMP error:', headers.message || body);
+    }
+  }
+
+  private sendFrame(command: string, headers: Record<string, string>, body = '') {
+    const headerLines = Object.entries(headers).map(([name, value]) => `${name}:${value}`);
+    this.socket?.send(`${command}\n${headerLines.join('\n')}\n\n${body}${NULL}`);
+  }
+}